@@ -0,0 +1,228 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.api.impl.GenderArmor;
+import com.wildfire.main.Gender;
+import com.wildfire.main.config.enums.PhysicsModelType;
+import com.wildfire.main.entitydata.EntityConfig;
+import net.minecraft.entity.EntityPose;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks a single {@link PhysicsWorld#step() physics step} across a number of entities, along with capturing
+ * the inputs for it.</p>
+ *
+ * <p>As constructing actual entities requires a bootstrapped game and world, these are instead simulated by
+ * {@link StandIn lightweight stand-ins}, which write directly into the {@link PhysicsFrame} in the same way that
+ * {@link PhysicsFrame#capture} would for a real entity, including going through the same
+ * {@link PhysicsFrame#captureConfig cached entity config constants}. Resolving chest armor configs and vehicle motion
+ * profiles both require actual item stacks and entities, and as such aren't covered here.</p>
+ *
+ * <p>Every invocation of {@link #step} covers {@value #TICKS} ticks, with the inputs for each of them captured ahead
+ * of time into their own frame; this keeps the setup itself out of the measurement, while keeping each invocation
+ * long enough that the overhead of per-invocation setup doesn't skew the results.</p>
+ *
+ * <p>Run with {@code ./gradlew jmh}; allocation rates are reported through the GC profiler.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhysicsWorldBenchmark {
+
+	private static final int TICKS = 20;
+
+	@Param({"idle", "walking", "swinging", "mounted", "armor_stand"})
+	public String scenario;
+
+	@Param({"16", "256"})
+	public int entities;
+
+	@Param({"true", "false"})
+	public boolean uniboob;
+
+	@Param({"spring", "critically_damped", "verlet"})
+	public String model;
+
+	private PhysicsWorld world;
+	private StandIn[] standIns;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		world = new PhysicsWorld();
+		PhysicsModel physicsModel = PhysicsModel.of(PhysicsModelType.valueOf(model.toUpperCase()));
+		world.setModels(physicsModel, physicsModel);
+		standIns = new StandIn[entities];
+		for(int i = 0; i < entities; i++) {
+			standIns[i] = new StandIn(world.allocate(i), i, Scenario.valueOf(scenario.toUpperCase()), uniboob);
+		}
+		// let every body settle into a steady state before measuring anything, which notably puts idle bodies to sleep
+		for(int i = 0; i < 100; i++) {
+			capture();
+			world.step();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(TICKS)
+	public void step(Frames frames) {
+		for(PhysicsFrame frame : frames.frames) {
+			world.step(frame);
+		}
+	}
+
+	/**
+	 * Tick every stand-in, and capture it into the world's current frame; the captured inputs are simply overwritten
+	 * by the next invocation, as it's only the capture itself which is being measured
+	 */
+	@Benchmark
+	public void capture() {
+		PhysicsFrame frame = world.getFrame();
+		for(StandIn standIn : standIns) {
+			standIn.tick();
+			standIn.write(frame);
+		}
+	}
+
+	/**
+	 * The inputs for the next {@value #TICKS} ticks, which are captured ahead of each invocation of {@link #step}
+	 * so that only the step itself is measured
+	 */
+	@State(Scope.Thread)
+	public static class Frames {
+		private final PhysicsFrame[] frames = new PhysicsFrame[TICKS];
+
+		@Setup(Level.Trial)
+		public void setup(PhysicsWorldBenchmark benchmark) {
+			for(int i = 0; i < TICKS; i++) {
+				frames[i] = new PhysicsFrame();
+				frames[i].grow(benchmark.entities);
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void capture(PhysicsWorldBenchmark benchmark) {
+			for(PhysicsFrame frame : frames) {
+				for(StandIn standIn : benchmark.standIns) {
+					standIn.tick();
+					standIn.write(frame);
+				}
+			}
+		}
+	}
+
+	enum Scenario {
+		IDLE, WALKING, SWINGING, MOUNTED, ARMOR_STAND
+	}
+
+	/**
+	 * Mimics the state of a single entity as it ticks
+	 */
+	static final class StandIn {
+		private final int slot;
+		private final Scenario scenario;
+		private final EntityConfig config;
+
+		private double x, y, z;
+		private float limbPos, limbSpeed, yawDelta;
+		private int age, handSwingTicks;
+		private boolean handSwinging;
+
+		StandIn(int slot, int index, Scenario scenario, boolean uniboob) {
+			this.slot = slot;
+			this.scenario = scenario;
+			this.config = new StandInConfig(new UUID(0, index), uniboob);
+			// offset every stand-in slightly, to avoid all of them being in perfect lockstep
+			this.x = index * 2;
+			this.age = index * 7;
+		}
+
+		void tick() {
+			age++;
+			switch(scenario) {
+				case WALKING, MOUNTED -> {
+					x += 0.2;
+					limbPos += 0.6f;
+					limbSpeed = 0.8f;
+					yawDelta = (float) Math.sin(age * 0.1) * 4f;
+				}
+				case SWINGING -> {
+					handSwinging = age % 20 < 6;
+					handSwingTicks = handSwinging ? age % 20 : 0;
+				}
+				default -> {}
+			}
+		}
+
+		void write(PhysicsFrame frame) {
+			frame.begin(slot, PhysicsLod.NEAR, 1);
+
+			frame.armorStand[slot] = scenario == Scenario.ARMOR_STAND;
+			// as with real entities, the config constants are only computed again once the config or armor changes
+			frame.captureConfig(slot, config, GenderArmor.EMPTY);
+			if(frame.armorStand[slot]) return;
+
+			frame.positionX[slot] = x;
+			frame.positionY[slot] = y;
+			frame.positionZ[slot] = z;
+			frame.velocityY[slot] = -0.0784;
+			frame.velocityLengthSquared[slot] = limbSpeed > 0 ? 0.04 : 0.0061;
+			frame.limbPos[slot] = limbPos;
+			frame.limbSpeed[slot] = limbSpeed;
+			frame.yawDelta[slot] = yawDelta;
+			frame.pose[slot] = EntityPose.STANDING;
+
+			frame.swingDuration[slot] = 6;
+			frame.handSwingTicks[slot] = handSwingTicks;
+			frame.handSwinging[slot] = handSwinging;
+			frame.age[slot] = age;
+			frame.mainArmRight[slot] = true;
+			frame.swingingArmRight[slot] = true;
+
+			if(scenario == Scenario.MOUNTED) {
+				frame.vehicleProfile[slot] = VehicleMotionProfiles.HORSE;
+				frame.vehicleId[slot] = slot;
+				frame.vehicleAge[slot] = age;
+				frame.vehicleSample[slot] = 0.1f;
+			} else {
+				frame.vehicleProfile[slot] = null;
+			}
+		}
+	}
+
+	/**
+	 * An entity config with fixed settings, as would otherwise be read from an armor stand's chestplate
+	 */
+	static final class StandInConfig extends EntityConfig {
+		StandInConfig(UUID uuid, boolean uniboob) {
+			super(uuid);
+			this.gender = Gender.FEMALE;
+			this.pBustSize = 0.6f;
+			this.bounceMultiplier = 0.34f;
+			this.floppyMultiplier = 0.5f;
+			this.breasts.updateUniboob(uniboob);
+		}
+	}
+}
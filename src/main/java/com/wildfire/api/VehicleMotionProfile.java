@@ -0,0 +1,82 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.api;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * <p>Describes how riding a certain type of vehicle affects breast physics.</p>
+ *
+ * <p>Profiles are registered per entity type through {@link WildfireAPI#registerVehicleMotionProfile}, and are
+ * resolved once when an entity starts riding a vehicle of that type; vehicles without a registered profile fall back
+ * to the closest built-in profile for their class.</p>
+ */
+public interface VehicleMotionProfile {
+
+    /**
+     * Profile used for vehicles which have no special handling
+     */
+    VehicleMotionProfile DEFAULT = (rider, vehicle) -> 0f;
+
+    /**
+     * Sample any state from the vehicle required by {@link #applyBounce}; this is called on the client thread once
+     * per tick for every rider.
+     *
+     * @return An arbitrary value, which is passed back to {@link #applyBounce} as {@code sample}
+     */
+    float sample(LivingEntity rider, Entity vehicle);
+
+    /**
+     * @return {@code true} if rotation physics should be disabled entirely while riding the provided vehicle, such as
+     *         with vehicles that forcibly snap the rider's rotation to their own
+     */
+    default boolean suppressesRotation(LivingEntity rider, Entity vehicle) {
+        return false;
+    }
+
+    /**
+     * @return {@code true} if rotation physics should follow the vehicle's rotation instead of the rider's own
+     */
+    default boolean usesVehicleYaw(LivingEntity rider, Entity vehicle) {
+        // general catch-all for entities that force the rider's body yaw to match theirs, such as horses
+        return vehicle.hasControllingPassenger() || vehicle.getBodyYaw() == rider.getBodyYaw();
+    }
+
+    /**
+     * Apply any bounce caused by the vehicle to the vertical target of a single breast.
+     *
+     * @implNote This may be called off of the client thread, and as such must not access the rider, vehicle or world;
+     *           anything needed from those should be taken in {@link #sample} instead.
+     *
+     * @param targetBounceY   The vertical target the breast is currently moving toward
+     * @param sample          The value last returned from {@link #sample}
+     * @param vehicleAge      The age of the vehicle in ticks
+     * @param bounceIntensity How strongly the breast currently reacts to movement
+     * @param breastWeight    The resting weight of the breast
+     * @param random          Random source for this breast; this is deterministic for a given sequence of inputs
+     *
+     * @return The new vertical target
+     */
+    default float applyBounce(float targetBounceY, float sample, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+        return targetBounceY;
+    }
+}
@@ -22,9 +22,12 @@ import com.wildfire.main.WildfireGenderClient;
 import com.wildfire.main.config.Configuration;
 import com.wildfire.main.entitydata.PlayerConfig;
 import com.wildfire.main.WildfireGender;
+import com.wildfire.main.WildfireHelper;
 import com.wildfire.main.Gender;
+import com.wildfire.physics.VehicleMotionProfiles;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
 import org.jetbrains.annotations.ApiStatus;
@@ -57,6 +60,19 @@ public class WildfireAPI {
     @ApiStatus.Obsolete
     public static void addGenderArmor(Item item, IGenderArmor genderArmor) {
         GENDER_ARMORS.put(item, genderArmor);
+        WildfireHelper.invalidateArmorConfigs();
+    }
+
+    /**
+     * Register how riding entities of the given type should affect breast physics, replacing any built-in handling
+     * for that type
+     *
+     * @param  type    the type of vehicle entity
+     * @param  profile the {@link VehicleMotionProfile} to use for riders of that vehicle
+     * @see    VehicleMotionProfile
+     */
+    public static void registerVehicleMotionProfile(EntityType<?> type, VehicleMotionProfile profile) {
+        VehicleMotionProfiles.register(type, profile);
     }
 
     /**
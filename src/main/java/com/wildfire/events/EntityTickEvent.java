@@ -26,7 +26,12 @@ import net.minecraft.entity.LivingEntity;
 
 /**
  * Event invoked when <b>any</b> {@link LivingEntity} ticks on the client.
+ *
+ * @deprecated This is no longer used by the mod itself, as breast physics are now simulated for every entity at once
+ *             at the end of each client tick; it's still invoked for any existing listeners, but may be removed in
+ *             the future.
  */
+@Deprecated
 @FunctionalInterface
 @Environment(EnvType.CLIENT)
 public interface EntityTickEvent {
@@ -29,6 +29,10 @@ import com.wildfire.main.entitydata.EntityConfig;
 import com.wildfire.main.entitydata.PlayerConfig;
 import com.wildfire.main.networking.ServerboundSyncPacket;
 import com.wildfire.main.networking.WildfireSync;
+import com.wildfire.physics.PhysicsTraceRecorder;
+import com.wildfire.physics.PhysicsWorld;
+import com.wildfire.render.BreastBatchRenderer;
+import com.wildfire.render.BreastRenderCulling;
 import com.wildfire.render.GenderArmorLayer;
 import com.wildfire.render.GenderLayer;
 import com.wildfire.render.HolidayFeaturesRenderer;
@@ -36,11 +40,14 @@ import com.wildfire.render.RenderStateEntityCapture;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.fabricmc.fabric.api.client.rendering.v1.LivingEntityFeatureRendererRegistrationCallback;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderContext;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
 import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
@@ -62,7 +69,6 @@ import net.minecraft.component.DataComponentTypes;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.*;
 import net.minecraft.entity.damage.DamageSource;
-import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.MinecraftServer;
@@ -131,13 +137,17 @@ public final class WildfireEventHandler {
 	public static void registerClientEvents() {
 		ClientEntityEvents.ENTITY_UNLOAD.register(WildfireEventHandler::onEntityUnload);
 		ClientTickEvents.END_CLIENT_TICK.register(WildfireEventHandler::onClientTick);
+		WorldRenderEvents.START.register(WildfireEventHandler::onWorldRenderStart);
+		WorldRenderEvents.BEFORE_ENTITIES.register(context -> BreastBatchRenderer.INSTANCE.begin(context.consumers()));
+		WorldRenderEvents.AFTER_ENTITIES.register(context -> BreastBatchRenderer.INSTANCE.flush());
+		ClientLifecycleEvents.CLIENT_STOPPING.register(client -> PhysicsWorld.INSTANCE.stopRecording());
+		PhysicsTraceRecorder.startFromProperty();
 		ClientPlayConnectionEvents.DISCONNECT.register(WildfireEventHandler::clientDisconnect);
 		ClientPlayConnectionEvents.JOIN.register(WildfireEventHandler::clientJoin);
 		LivingEntityFeatureRendererRegistrationCallback.EVENT.register(WildfireEventHandler::registerRenderLayers);
 		HudRenderCallback.EVENT.register(WildfireEventHandler::renderHud);
 		ArmorStatsTooltipEvent.EVENT.register(WildfireEventHandler::renderTooltip);
 		EntityHurtSoundEvent.EVENT.register(WildfireEventHandler::onEntityHurt);
-		EntityTickEvent.EVENT.register(WildfireEventHandler::onEntityTick);
 		PlayerNametagRenderEvent.EVENT.register(WildfireEventHandler::onPlayerNametag);
 	}
 
@@ -230,12 +240,28 @@ public final class WildfireEventHandler {
 	}
 
 	/**
-	 * Perform various actions that should happen once per client tick, such as syncing client player settings
-	 * to the server.
+	 * Advance breast physics when using a fixed timestep, which is decoupled from the client tick rate
+	 */
+	@Environment(EnvType.CLIENT)
+	private static void onWorldRenderStart(WorldRenderContext context) {
+		PhysicsWorld.INSTANCE.advance();
+		BreastRenderCulling.refresh(MinecraftClient.getInstance());
+	}
+
+	/**
+	 * Perform various actions that should happen once per client tick, such as integrating breast physics for every
+	 * entity that ticked, and syncing client player settings to the server.
 	 */
 	@Environment(EnvType.CLIENT)
 	private static void onClientTick(MinecraftClient client) {
-		if(client.world == null || client.player == null) return;
+		PhysicsWorld.INSTANCE.tick();
+		PhysicsWorld.INSTANCE.processReleases();
+		if(client.world == null || client.player == null) {
+			PhysicsWorld.INSTANCE.getLod().reset();
+			return;
+		}
+		// distances used for the next tick's physics LOD are measured from where the camera is at the end of this one
+		PhysicsWorld.INSTANCE.getLod().refresh(client.gameRenderer.getCamera().getPos(), client.getCameraEntity());
 
 		PlayerConfig clientConfig = WildfireGender.getPlayerById(client.player.getUuid());
 		timer++;
@@ -325,20 +351,6 @@ public final class WildfireEventHandler {
 		}
 	}
 
-	/**
-	 * Tick breast physics on entity tick
-	 */
-	@Environment(EnvType.CLIENT)
-	private static void onEntityTick(LivingEntity entity) {
-		if(EntityConfig.isSupportedEntity(entity)) {
-			EntityConfig cfg = EntityConfig.getEntity(entity);
-			if(entity instanceof ArmorStandEntity) {
-				cfg.readFromStack(entity.getEquippedStack(EquipmentSlot.CHEST));
-			}
-			cfg.tickBreastPhysics(entity);
-		}
-	}
-
 	/**
 	 * Apply player settings to chestplates equipped onto armor stands
 	 */
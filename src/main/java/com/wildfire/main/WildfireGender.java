@@ -28,6 +28,7 @@ import com.mojang.logging.LogUtils;
 import com.wildfire.main.config.GlobalConfig;
 import com.wildfire.main.entitydata.PlayerConfig;
 import com.wildfire.main.networking.WildfireSync;
+import com.wildfire.physics.PhysicsWorld;
 import net.fabricmc.api.ModInitializer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -49,7 +50,9 @@ public class WildfireGender implements ModInitializer {
 		if(WildfireHelper.onClient()) {
 			builder.expireAfterAccess(Duration.ofMinutes(15));
 		}
-		CACHE = builder.build(new CacheLoader<>() {
+		CACHE = builder.<UUID, PlayerConfig>removalListener(notification -> {
+			if(notification.getValue() != null) PhysicsWorld.INSTANCE.queueRelease(notification.getValue());
+		}).build(new CacheLoader<>() {
 			@Override
 			public @NotNull PlayerConfig load(@NotNull UUID key) {
 				var config = new PlayerConfig(key);
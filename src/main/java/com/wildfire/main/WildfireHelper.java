@@ -25,6 +25,7 @@ import com.mojang.serialization.codecs.PrimitiveCodec;
 import com.wildfire.api.IGenderArmor;
 import com.wildfire.api.WildfireAPI;
 import com.wildfire.main.config.FloatConfigKey;
+import com.wildfire.main.entitydata.EntityConfig;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.item.ItemStack;
@@ -34,6 +35,7 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.util.TriState;
 import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
@@ -43,6 +45,9 @@ public final class WildfireHelper {
         throw new UnsupportedOperationException();
     }
 
+    // incremented whenever the armor configs resolved by getArmorConfig may have changed, invalidating any cached lookups
+    private static int armorConfigGeneration = 0;
+
     public static final PrimitiveCodec<TriState> TRISTATE = new PrimitiveCodec<>() {
         @Override
         public <T> DataResult<TriState> read(final DynamicOps<T> ops, final T input) {
@@ -72,6 +77,9 @@ public final class WildfireHelper {
         return (float) ThreadLocalRandom.current().nextDouble(min, (double) max + 1);
     }
 
+    /**
+     * @see EntityConfig#getArmorConfig(ItemStack)
+     */
     @Environment(EnvType.CLIENT)
     public static IGenderArmor getArmorConfig(ItemStack stack) {
         if(stack.isEmpty()) {
@@ -84,6 +92,15 @@ public final class WildfireHelper {
         });
     }
 
+    public static int getArmorConfigGeneration() {
+        return armorConfigGeneration;
+    }
+
+    @ApiStatus.Internal
+    public static void invalidateArmorConfigs() {
+        armorConfigGeneration++;
+    }
+
     public static Codec<Float> boundedFloat(float minInclusive, float maxInclusive) {
         return Codec.FLOAT.xmap(val -> MathHelper.clamp(val, minInclusive, maxInclusive), Function.identity());
     }
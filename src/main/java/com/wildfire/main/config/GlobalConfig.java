@@ -18,6 +18,8 @@
 
 package com.wildfire.main.config;
 
+import com.wildfire.main.config.enums.PhysicsModelType;
+import com.wildfire.main.config.enums.PhysicsQuality;
 import com.wildfire.main.config.enums.ShowPlayerListMode;
 import com.wildfire.main.config.enums.SyncVerbosity;
 
@@ -42,6 +44,46 @@ public class GlobalConfig extends AbstractConfiguration {
 
     public static final BooleanConfigKey ARMOR_STAT = new BooleanConfigKey("armor_stat", true);
 
+    // split physics integration across a fork-join pool once at least this many entities are simulated in a tick
+    public static final BooleanConfigKey PARALLEL_PHYSICS = new BooleanConfigKey("parallel_physics", false);
+    public static final IntegerConfigKey PARALLEL_PHYSICS_THRESHOLD = new IntegerConfigKey("parallel_physics_threshold", 64, 1, 4096);
+
+    // see PhysicsLod; entities within the near distance are simulated every tick, entities up to the far distance
+    // every few ticks, and anything further (or that isn't being rendered) is held at its rest pose. This is opt-in
+    // on the high physics quality, and always on for lower qualities
+    public static final BooleanConfigKey PHYSICS_LOD = new BooleanConfigKey("physics_lod", false);
+    public static final FloatConfigKey PHYSICS_LOD_NEAR_DISTANCE = new FloatConfigKey("physics_lod_near_distance", 24f, 4f, 256f);
+    public static final FloatConfigKey PHYSICS_LOD_FAR_DISTANCE = new FloatConfigKey("physics_lod_far_distance", 48f, 4f, 256f);
+    public static final IntegerConfigKey PHYSICS_LOD_MID_INTERVAL = new IntegerConfigKey("physics_lod_mid_interval", 2, 2, 4);
+
+    // step physics on a fixed timestep from each rendered frame instead of once per client tick, taking at most
+    // the given amount of steps per frame
+    public static final BooleanConfigKey PHYSICS_FIXED_TIMESTEP = new BooleanConfigKey("physics_fixed_timestep", false);
+    public static final IntegerConfigKey PHYSICS_MAX_SUBSTEPS = new IntegerConfigKey("physics_max_substeps", 3, 1, 10);
+
+    // step physics on a dedicated worker thread, with the renderer reading from a snapshot of the last finished step
+    public static final BooleanConfigKey THREADED_PHYSICS = new BooleanConfigKey("threaded_physics", false);
+
+    // see PhysicsQuality; the budget is only used by the adaptive quality, and is the target time for a single step
+    public static final EnumConfigKey<PhysicsQuality> PHYSICS_QUALITY = new EnumConfigKey<>("physics_quality", PhysicsQuality.HIGH, PhysicsQuality.BY_ID);
+    public static final IntegerConfigKey PHYSICS_BUDGET_MICROS = new IntegerConfigKey("physics_budget_micros", 1000, 50, 50_000);
+
+    // which solver is used for entities in each LOD tier; see PhysicsModelType
+    public static final EnumConfigKey<PhysicsModelType> PHYSICS_MODEL_NEAR = new EnumConfigKey<>("physics_model_near", PhysicsModelType.SPRING, PhysicsModelType.BY_ID);
+    public static final EnumConfigKey<PhysicsModelType> PHYSICS_MODEL_MID = new EnumConfigKey<>("physics_model_mid", PhysicsModelType.SPRING, PhysicsModelType.BY_ID);
+
+    // collect breast geometry from every entity rendered in a frame, and submit it grouped by render layer after
+    // all entities have been rendered
+    public static final BooleanConfigKey BATCHED_BREAST_RENDERING = new BooleanConfigKey("batched_breast_rendering", false);
+
+    // see BreastRenderCulling; breasts past the far distance are rendered without physics or armor trims, and past the
+    // cull distance (or when covering less than the given amount of pixels on screen) aren't rendered at all; this is
+    // opt-in, as it visibly changes how distant players look
+    public static final BooleanConfigKey BREAST_RENDER_CULLING = new BooleanConfigKey("breast_render_culling", false);
+    public static final FloatConfigKey BREAST_FAR_DISTANCE = new FloatConfigKey("breast_far_distance", 48f, 8f, 512f);
+    public static final FloatConfigKey BREAST_CULL_DISTANCE = new FloatConfigKey("breast_cull_distance", 128f, 8f, 512f);
+    public static final FloatConfigKey BREAST_MIN_SCREEN_PIXELS = new FloatConfigKey("breast_min_screen_pixels", 1f, 0f, 16f);
+
     static {
         INSTANCE.setDefault(FIRST_TIME_LOAD);
         INSTANCE.setDefault(CLOUD_SYNC_ENABLED);
@@ -50,6 +92,24 @@ public class GlobalConfig extends AbstractConfiguration {
         INSTANCE.setDefault(SYNC_VERBOSITY);
         INSTANCE.setDefault(ALWAYS_SHOW_LIST);
         INSTANCE.setDefault(ARMOR_STAT);
+        INSTANCE.setDefault(PARALLEL_PHYSICS);
+        INSTANCE.setDefault(PARALLEL_PHYSICS_THRESHOLD);
+        INSTANCE.setDefault(PHYSICS_LOD);
+        INSTANCE.setDefault(PHYSICS_LOD_NEAR_DISTANCE);
+        INSTANCE.setDefault(PHYSICS_LOD_FAR_DISTANCE);
+        INSTANCE.setDefault(PHYSICS_LOD_MID_INTERVAL);
+        INSTANCE.setDefault(PHYSICS_FIXED_TIMESTEP);
+        INSTANCE.setDefault(PHYSICS_MAX_SUBSTEPS);
+        INSTANCE.setDefault(THREADED_PHYSICS);
+        INSTANCE.setDefault(PHYSICS_QUALITY);
+        INSTANCE.setDefault(PHYSICS_BUDGET_MICROS);
+        INSTANCE.setDefault(PHYSICS_MODEL_NEAR);
+        INSTANCE.setDefault(PHYSICS_MODEL_MID);
+        INSTANCE.setDefault(BATCHED_BREAST_RENDERING);
+        INSTANCE.setDefault(BREAST_RENDER_CULLING);
+        INSTANCE.setDefault(BREAST_FAR_DISTANCE);
+        INSTANCE.setDefault(BREAST_CULL_DISTANCE);
+        INSTANCE.setDefault(BREAST_MIN_SCREEN_PIXELS);
         if(!INSTANCE.exists()) {
             INSTANCE.save();
         }
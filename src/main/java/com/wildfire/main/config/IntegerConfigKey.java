@@ -0,0 +1,53 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.main.config;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import net.minecraft.util.math.MathHelper;
+
+public class IntegerConfigKey extends NumberConfigKey<Integer> {
+
+    public IntegerConfigKey(String key, Integer defaultValue) {
+        super(key, defaultValue);
+    }
+
+    public IntegerConfigKey(String key, int defaultValue, int minInclusive, int maxInclusive) {
+        super(key, defaultValue, minInclusive, maxInclusive);
+    }
+
+    @Override
+    protected Integer read(JsonElement element) {
+        // see FloatConfigKey#read for why this clamps instead of resetting to the default value
+        return MathHelper.clamp(super.read(element), getMinInclusive(), getMaxInclusive());
+    }
+
+    @Override
+    protected Integer fromPrimitive(JsonPrimitive primitive) {
+        return primitive.getAsInt();
+    }
+
+    public int getMinInclusive() {
+        return minInclusive == null ? Integer.MIN_VALUE : minInclusive;
+    }
+
+    public int getMaxInclusive() {
+        return maxInclusive == null ? Integer.MAX_VALUE : maxInclusive;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.main.config.enums;
+
+import net.minecraft.util.function.ValueLists;
+
+import java.util.function.IntFunction;
+
+/**
+ * Which solver breast physics springs are run with; this may be configured separately for each LOD tier
+ */
+public enum PhysicsModelType {
+	/**
+	 * The original spring
+	 */
+	SPRING,
+	/**
+	 * A cheaper spring solved in closed form, which settles faster and without overshooting
+	 */
+	CRITICALLY_DAMPED,
+	/**
+	 * A smoother spring integrated across several substeps per tick, at a few times the cost of the original
+	 */
+	VERLET;
+
+	public static final IntFunction<PhysicsModelType> BY_ID = ValueLists.createIdToValueFunction(PhysicsModelType::ordinal, values(), ValueLists.OutOfBoundsHandling.CLAMP);
+}
@@ -0,0 +1,68 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.main.config.enums;
+
+import net.minecraft.util.function.ValueLists;
+
+import java.util.function.IntFunction;
+
+/**
+ * Global breast physics quality, which scales how aggressively distant entities are simulated at a reduced rate
+ *
+ * @see com.wildfire.physics.PhysicsLod
+ */
+public enum PhysicsQuality {
+	/**
+	 * Every entity is held at its rest pose, including the local player
+	 */
+	OFF(0f, 1),
+	LOW(0.5f, 4),
+	MEDIUM(0.75f, 3),
+	/**
+	 * Physics level-of-detail is applied exactly as configured, if at all
+	 */
+	HIGH(1f, 1),
+	/**
+	 * Starts at {@link #HIGH}, and steps down towards {@link #LOW} while physics exceed the configured time budget
+	 */
+	ADAPTIVE(1f, 1);
+
+	public static final IntFunction<PhysicsQuality> BY_ID = ValueLists.createIdToValueFunction(PhysicsQuality::ordinal, values(), ValueLists.OutOfBoundsHandling.CLAMP);
+
+	private final float distanceScale;
+	private final int minMidInterval;
+
+	PhysicsQuality(float distanceScale, int minMidInterval) {
+		this.distanceScale = distanceScale;
+		this.minMidInterval = minMidInterval;
+	}
+
+	/**
+	 * @return How much the configured level-of-detail distances are scaled by at this quality
+	 */
+	public float getDistanceScale() {
+		return distanceScale;
+	}
+
+	/**
+	 * @return The fewest ticks that mid-range entities may go between steps at this quality
+	 */
+	public int getMinMidInterval() {
+		return minMidInterval;
+	}
+}
@@ -27,15 +27,21 @@ import com.wildfire.main.WildfireHelper;
 import com.wildfire.main.config.Configuration;
 import com.wildfire.main.Gender;
 import com.wildfire.physics.BreastPhysics;
+import com.wildfire.physics.PhysicsWorld;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.block.Blocks;
 import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.EquippableComponent;
 import net.minecraft.component.type.NbtComponent;
 import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.entity.effect.StatusEffectUtil;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -54,6 +60,9 @@ public class EntityConfig {
 
 	public static final LoadingCache<UUID, EntityConfig> CACHE = CacheBuilder.newBuilder()
 			.expireAfterAccess(Duration.ofMinutes(5))
+			.<UUID, EntityConfig>removalListener(notification -> {
+				if(notification.getValue() != null) PhysicsWorld.INSTANCE.queueRelease(notification.getValue());
+			})
 			.build(new CacheLoader<>() {
 				@Override
 				public @NotNull EntityConfig load(@NotNull UUID key) {
@@ -73,20 +82,31 @@ public class EntityConfig {
 	// note: hurt sounds, armor physics override, and show in armor are not defined here, as they have no relevance
 	// to entities, and are instead entirely in PlayerConfig
 
-	// TODO ideally these physics objects would be made entirely client-sided, but this class is
-	//      used on both the client and server (primarily through PlayerConfig), making it very
-	//      difficult to do so without some major changes to split this up further into a common class
-	//      with a client extension class (e.g. the PlayerEntity & AbstractClientPlayerEntity classes)
-	protected final BreastPhysics lBreastPhysics, rBreastPhysics;
+	// physics state itself lives in the PhysicsWorld; this is only ever allocated on the client, once the entity
+	// is first ticked, and is released when this config is evicted from its cache
+	private int physicsSlot = PhysicsWorld.NO_SLOT;
+	// incremented whenever a setting used to derive this entity's physics constants changes
+	private int physicsVersion = 0;
 	protected final Breasts breasts;
+	private final BreastPhysics leftBreastPhysics, rightBreastPhysics;
 	protected boolean jacketLayer = true;
 	protected @Nullable BreastDataComponent fromComponent;
+	// the chestplate data last read by #readFromStack, which is kept even if it didn't contain any breast data
+	private @Nullable NbtComponent lastComponent;
+	// the armor config last resolved for this entity's chestplate, and everything it was resolved from
+	private @Nullable IGenderArmor armorConfig;
+	private @Nullable Item armorItem;
+	private @Nullable EquippableComponent armorEquippable;
+	private int armorConfigGeneration;
+	// whether this entity was able to breathe as of its last tick, which is used to decide if the breathing
+	// animation should be played while rendering
+	private boolean canBreathe = true;
 
 	protected EntityConfig(UUID uuid) {
 		this.uuid = uuid;
 		this.breasts = new Breasts();
-		lBreastPhysics = new BreastPhysics(this);
-		rBreastPhysics = new BreastPhysics(this);
+		this.leftBreastPhysics = new BreastPhysics(this, PhysicsWorld.LEFT);
+		this.rightBreastPhysics = new BreastPhysics(this, PhysicsWorld.RIGHT);
 	}
 
 	/**
@@ -97,15 +117,21 @@ public class EntityConfig {
 	public void readFromStack(@NotNull ItemStack chestplate) {
 		NbtComponent component = chestplate.get(DataComponentTypes.CUSTOM_DATA);
 		if(chestplate.isEmpty() || component == null) {
+			if(this.fromComponent != null || this.gender != Gender.MALE) {
+				invalidatePhysics();
+			}
 			this.fromComponent = null;
+			this.lastComponent = null;
 			this.gender = Gender.MALE;
 			return;
-		} else if(fromComponent != null && Objects.equals(component, fromComponent.nbtComponent())) {
-			// nothing's changed since the last time we checked, so there's no need to read from the
-			// underlying nbt tag again
+		} else if(Objects.equals(component, lastComponent)) {
+			// nothing's changed since the last time we checked (including if it wasn't valid breast data), so there's
+			// no need to read from the underlying nbt tag again
 			return;
 		}
 
+		invalidatePhysics();
+		lastComponent = component;
 		fromComponent = BreastDataComponent.fromComponent(component);
 		if(fromComponent == null) {
 			this.gender = Gender.MALE;
@@ -180,10 +206,54 @@ public class EntityConfig {
 	}
 
 	public @NotNull BreastPhysics getLeftBreastPhysics() {
-		return lBreastPhysics;
+		return leftBreastPhysics;
 	}
 	public @NotNull BreastPhysics getRightBreastPhysics() {
-		return rBreastPhysics;
+		return rightBreastPhysics;
+	}
+
+	/**
+	 * @return This entity's slot in the {@link PhysicsWorld}, or {@link PhysicsWorld#NO_SLOT} if one hasn't been allocated
+	 */
+	@ApiStatus.Internal
+	public int getPhysicsSlot() {
+		return physicsSlot;
+	}
+
+	/**
+	 * @return A counter which changes every time any setting affecting this entity's breast physics changes, used to
+	 *         avoid recomputing values derived from them every tick
+	 */
+	@ApiStatus.Internal
+	public int getPhysicsVersion() {
+		return physicsVersion;
+	}
+
+	protected void invalidatePhysics() {
+		physicsVersion++;
+	}
+
+	@ApiStatus.Internal
+	@Environment(EnvType.CLIENT)
+	public int getOrAllocatePhysicsSlot() {
+		if(physicsSlot == PhysicsWorld.NO_SLOT) {
+			physicsSlot = PhysicsWorld.INSTANCE.allocate(uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits());
+		}
+		return physicsSlot;
+	}
+
+	/**
+	 * Return this entity's slot to the {@link PhysicsWorld}; a new slot will be allocated if this entity is ticked again.
+	 *
+	 * @see PhysicsWorld#queueRelease(EntityConfig)
+	 */
+	@ApiStatus.Internal
+	@Environment(EnvType.CLIENT)
+	public void releasePhysicsSlot() {
+		if(physicsSlot != PhysicsWorld.NO_SLOT) {
+			PhysicsWorld.INSTANCE.free(physicsSlot);
+			physicsSlot = PhysicsWorld.NO_SLOT;
+		}
 	}
 
 	/**
@@ -194,12 +264,56 @@ public class EntityConfig {
 		return jacketLayer;
 	}
 
+	/**
+	 * Resolve the armor config for the provided chestplate, which is expected to be the one currently worn by this
+	 * entity; this is only looked up again once the item or its equippable component changes, or armor configs are
+	 * reloaded.
+	 *
+	 * @see WildfireHelper#getArmorConfig(ItemStack)
+	 */
 	@Environment(EnvType.CLIENT)
-	public void tickBreastPhysics(@NotNull LivingEntity entity) {
-		IGenderArmor armor = WildfireHelper.getArmorConfig(entity.getEquippedStack(EquipmentSlot.CHEST));
+	public @NotNull IGenderArmor getArmorConfig(@NotNull ItemStack chestplate) {
+		// note that this intentionally doesn't compare the stack itself, as render states only ever hold a copy
+		Item item = chestplate.getItem();
+		EquippableComponent equippable = chestplate.get(DataComponentTypes.EQUIPPABLE);
+		int generation = WildfireHelper.getArmorConfigGeneration();
+		if(armorConfig == null || item != armorItem || equippable != armorEquippable || generation != armorConfigGeneration) {
+			armorConfig = WildfireHelper.getArmorConfig(chestplate);
+			armorItem = item;
+			armorEquippable = equippable;
+			armorConfigGeneration = generation;
+		}
+		return armorConfig;
+	}
+
+	/**
+	 * @return {@code true} if this entity was able to breathe as of the last time {@link #updateCanBreathe} was called
+	 */
+	@Environment(EnvType.CLIENT)
+	public boolean canBreathe() {
+		return canBreathe;
+	}
 
-		getLeftBreastPhysics().update(entity, armor);
-		getRightBreastPhysics().update(entity, armor);
+	/**
+	 * Check if the provided entity is currently able to breathe; this is expected to be called once per tick, as it
+	 * involves a block state lookup, which is too expensive to repeat every frame.
+	 */
+	@Environment(EnvType.CLIENT)
+	public void updateCanBreathe(@NotNull LivingEntity entity) {
+		canBreathe = !entity.isSubmergedInWater() || StatusEffectUtil.hasWaterBreathing(entity) ||
+				entity.getWorld().getBlockState(entity.getBlockPos()).isOf(Blocks.BUBBLE_COLUMN);
+	}
+
+	/**
+	 * Queue the provided entity to have its breast physics simulated at the end of the current client tick
+	 *
+	 * @see PhysicsWorld#capture(EntityConfig, LivingEntity, IGenderArmor)
+	 */
+	@Environment(EnvType.CLIENT)
+	public void tickBreastPhysics(@NotNull LivingEntity entity) {
+		updateCanBreathe(entity);
+		IGenderArmor armor = getArmorConfig(entity.getEquippedStack(EquipmentSlot.CHEST));
+		PhysicsWorld.INSTANCE.capture(this, entity, armor);
 	}
 
 	@Override
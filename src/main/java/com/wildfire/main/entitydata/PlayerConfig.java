@@ -106,11 +106,17 @@ public class PlayerConfig extends EntityConfig {
 	}
 
 	public boolean updateGender(Gender value) {
-		return updateValue(Configuration.GENDER, value, v -> this.gender = v);
+		return updateValue(Configuration.GENDER, value, v -> {
+			this.gender = v;
+			invalidatePhysics();
+		});
 	}
 
 	public boolean updateBustSize(float value) {
-		return updateValue(Configuration.BUST_SIZE, value, v -> this.pBustSize = v);
+		return updateValue(Configuration.BUST_SIZE, value, v -> {
+			this.pBustSize = v;
+			invalidatePhysics();
+		});
 	}
 
 
@@ -144,7 +150,10 @@ public class PlayerConfig extends EntityConfig {
 	}
 
 	public boolean updateArmorPhysicsOverride(boolean value) {
-		return updateValue(Configuration.ARMOR_PHYSICS_OVERRIDE, value, v -> this.armorPhysOverride = v);
+		return updateValue(Configuration.ARMOR_PHYSICS_OVERRIDE, value, v -> {
+			this.armorPhysOverride = v;
+			invalidatePhysics();
+		});
 	}
 
 	public boolean showBreastsInArmor() {
@@ -156,11 +165,17 @@ public class PlayerConfig extends EntityConfig {
 	}
 
 	public boolean updateBounceMultiplier(float value) {
-		return updateValue(Configuration.BOUNCE_MULTIPLIER, value, v -> this.bounceMultiplier = v);
+		return updateValue(Configuration.BOUNCE_MULTIPLIER, value, v -> {
+			this.bounceMultiplier = v;
+			invalidatePhysics();
+		});
 	}
 
 	public boolean updateFloppiness(float value) {
-		return updateValue(Configuration.FLOPPY_MULTIPLIER, value, v -> this.floppyMultiplier = v);
+		return updateValue(Configuration.FLOPPY_MULTIPLIER, value, v -> {
+			this.floppyMultiplier = v;
+			invalidatePhysics();
+		});
 	}
 
 	public SyncStatus getSyncStatus() {
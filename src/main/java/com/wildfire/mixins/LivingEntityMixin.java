@@ -20,6 +20,9 @@ package com.wildfire.mixins;
 
 import com.wildfire.events.EntityHurtSoundEvent;
 import com.wildfire.events.EntityTickEvent;
+import com.wildfire.main.entitydata.EntityConfig;
+import com.wildfire.physics.LodVisibilityTracker;
+import com.wildfire.physics.PhysicsWorld;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.entity.Entity;
@@ -27,18 +30,32 @@ import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Implements;
+import org.spongepowered.asm.mixin.Interface;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(LivingEntity.class)
+@Implements(@Interface(iface = LodVisibilityTracker.class, prefix = "wildfire_gender$"))
 @Environment(EnvType.CLIENT)
 abstract class LivingEntityMixin extends Entity {
+	private @Unique int wildfire_gender$lastRenderedTick = Integer.MIN_VALUE;
+
 	private LivingEntityMixin(EntityType<?> type, World world) {
 		super(type, world);
 	}
 
+	public int wildfire_gender$getLastRenderedTick() {
+		return wildfire_gender$lastRenderedTick;
+	}
+
+	public void wildfire_gender$setLastRenderedTick(int tick) {
+		this.wildfire_gender$lastRenderedTick = tick;
+	}
+
 	// TODO would it be worth adding an extra @Inject to #animateDamage(float) to account for servers (namely hypixel)
 	//		using DamageTiltS2CPacket instead of the standard entity damage packet?
 	@Inject(
@@ -55,6 +72,12 @@ abstract class LivingEntityMixin extends Entity {
 	@Inject(method = "tick", at = @At("TAIL"))
 	public void wildfiregender$onTick(CallbackInfo ci) {
 		if(!getWorld().isClient()) return; // ignore ticks from the singleplayer integrated server
-		EntityTickEvent.EVENT.invoker().onTick((LivingEntity)(Object)this);
+		LivingEntity self = (LivingEntity)(Object)this;
+		if(EntityConfig.isSupportedEntity(self)) {
+			// only gather inputs here; the actual simulation happens in a single pass once the client tick ends
+			PhysicsWorld.INSTANCE.capture(self);
+		}
+		//noinspection deprecation
+		EntityTickEvent.EVENT.invoker().onTick(self);
 	}
 }
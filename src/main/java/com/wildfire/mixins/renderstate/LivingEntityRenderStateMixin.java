@@ -18,6 +18,7 @@
 
 package com.wildfire.mixins.renderstate;
 
+import com.wildfire.render.BreastRenderState;
 import com.wildfire.render.RenderStateEntityCapture;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -34,6 +35,7 @@ import org.spongepowered.asm.mixin.Unique;
 @Environment(EnvType.CLIENT)
 abstract class LivingEntityRenderStateMixin {
 	private @Unique @Nullable LivingEntity wildfire_gender$entity = null;
+	private final @Unique BreastRenderState wildfire_gender$breastState = new BreastRenderState();
 
 	public @Nullable LivingEntity wildfire_gender$getEntity() {
 		return wildfire_gender$entity;
@@ -42,4 +44,8 @@ abstract class LivingEntityRenderStateMixin {
 	public void wildfire_gender$setEntity(LivingEntity entity) {
 		this.wildfire_gender$entity = entity;
 	}
+
+	public BreastRenderState wildfire_gender$getBreastState() {
+		return wildfire_gender$breastState;
+	}
 }
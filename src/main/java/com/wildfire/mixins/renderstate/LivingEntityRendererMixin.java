@@ -18,6 +18,8 @@
 
 package com.wildfire.mixins.renderstate;
 
+import com.wildfire.physics.LodVisibilityTracker;
+import com.wildfire.physics.PhysicsWorld;
 import com.wildfire.render.RenderStateEntityCapture;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -47,5 +49,11 @@ abstract class LivingEntityRendererMixin {
 	@Inject(method = "updateRenderState(Lnet/minecraft/entity/LivingEntity;Lnet/minecraft/client/render/entity/state/LivingEntityRenderState;F)V", at = @At("TAIL"))
 	public void wildfiregender$captureEntityRenderState(LivingEntity entity, LivingEntityRenderState state, float tickDelta, CallbackInfo ci) {
 		((RenderStateEntityCapture)state).setEntity(entity);
+		// everything needed to render breasts is computed here, rather than by the feature renderers themselves,
+		// as those are shared between every entity drawn by this renderer
+		((RenderStateEntityCapture)state).getBreastState().update(entity, state, tickDelta);
+		// render states are only updated for entities that pass frustum culling, which makes this a convenient
+		// place to mark entities as visible for the physics LOD scheduler
+		((LodVisibilityTracker)entity).setLastRenderedTick(PhysicsWorld.INSTANCE.getLod().getTick());
 	}
 }
@@ -0,0 +1,43 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Exposes the random source of a single body in a {@link PhysicsWorld} as a {@link RandomGenerator}; instances are
+ * reused across bodies by pointing them at a different body through {@link #setBody(int)}.
+ */
+final class BodyRandom implements RandomGenerator {
+	private final PhysicsWorld world;
+	private int body;
+
+	BodyRandom(PhysicsWorld world) {
+		this.world = world;
+	}
+
+	void setBody(int body) {
+		this.body = body;
+	}
+
+	@Override
+	public long nextLong() {
+		return world.nextLong(body);
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+/**
+ * <p>A critically damped spring, solved analytically: rather than stepping the spring once for every elapsed tick,
+ * this evaluates the closed-form solution for the whole interval at once, making it equally cheap no matter how many
+ * ticks a body has to catch up on.</p>
+ *
+ * <p>The stiffness is matched to that of the default {@link PhysicsModel#SPRING spring}, but as this can never
+ * overshoot its target, bodies using it settle noticeably faster and with less jiggle.</p>
+ */
+final class CriticallyDampedModel implements PhysicsModel {
+
+	@Override
+	public void solve(PhysicsWorld world, int[] bodies, int from, int to) {
+		for(int i = from; i < to; i++) {
+			int body = bodies[i];
+			float bounceAmount = world.springAmount[body];
+			float percent = world.springPercent[body];
+			float stiffness = bounceAmount * (2.25f - bounceAmount);
+			int ticks = world.springSteps[body];
+
+			float targetY = PhysicsWorld.softTargetY(world.springTargetY[body], world.bounceVel[body]);
+			solve(world.bounceVel, world.velocity, body, targetY, stiffness, percent * 1.1625f, ticks);
+			solve(world.bounceVelX, world.velocityX, body, world.springTargetX[body], stiffness, percent, ticks);
+			solve(world.bounceRotVel, world.rotVelocity, body, world.springTargetRot[body], stiffness, percent, ticks);
+			world.applySpringPosition(body);
+		}
+	}
+
+	/**
+	 * Advance a single spring by the provided number of ticks
+	 *
+	 * @param scale How far the spring moves in a tick for each unit of velocity
+	 */
+	private static void solve(float[] position, float[] velocity, int body, float target, float stiffness, float scale, int ticks) {
+		if(scale <= 0) {
+			// nothing can move a spring with no floppiness, which is also true of the default spring
+			return;
+		}
+		double omega = Math.sqrt(stiffness * scale);
+		double offset = position[body] - target;
+		double speed = velocity[body] * scale;
+		// StrictMath, as Math#exp isn't guaranteed to return the same result on every platform, which would break
+		// replaying physics traces
+		double decay = StrictMath.exp(-omega * ticks);
+		double c = speed + omega * offset;
+		position[body] = (float) (target + (offset + c * ticks) * decay);
+		velocity[body] = (float) ((speed - omega * c * ticks) * decay / scale);
+	}
+}
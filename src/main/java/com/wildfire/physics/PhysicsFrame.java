@@ -0,0 +1,392 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.api.VehicleMotionProfile;
+import com.wildfire.main.entitydata.EntityConfig;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.util.Arm;
+import net.minecraft.util.Hand;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>Per-tick buffer of every input the {@link PhysicsWorld} consumes, indexed by slot.</p>
+ *
+ * <p>Entities write into this while they tick, and the buffer is then consumed in a single pass by
+ * {@link PhysicsWorld#step()}, which means that integration never has to touch an entity directly.</p>
+ */
+final class PhysicsFrame {
+
+	static final int POSE_UNCHANGED = 0, POSE_CROUCHED = 1, POSE_SLEPT = 2;
+	static final EntityPose[] POSES = EntityPose.values();
+
+	// entity config
+	boolean[] armorStand = {}, canHaveBreasts = {}, armorPhysicsOverride = {}, uniboob = {};
+	float[] bustSize = {}, bounceMultiplier = {}, floppiness = {};
+	// chest armor
+	float[] armorTightness = {}, armorResistance = {};
+	// movement
+	double[] positionX = {}, positionY = {}, positionZ = {};
+	double[] velocityY = {}, velocityLengthSquared = {};
+	float[] limbPos = {}, limbSpeed = {}, yawDelta = {};
+	EntityPose[] pose = {};
+	// arm swinging
+	int[] swingDuration = {}, handSwingTicks = {}, age = {};
+	boolean[] handSwinging = {}, mainArmRight = {}, swingingArmRight = {};
+	// vehicle; profiles are kept across ticks, and only resolved again once the entity starts riding something else
+	VehicleMotionProfile[] vehicleProfile = {};
+	int[] vehicleId = {}, vehicleAge = {};
+	float[] vehicleSample = {};
+	// level of detail, and how many ticks are expected to pass between captures at that level
+	int[] tier = {}, interval = {};
+
+	// derived solely from the entity config and chest armor by #updateConstants, and only recomputed once either of
+	// them change; tracked by the config's physics version and the identity of the armor config
+	float[] targetBreastSize = {}, bounceIntensity = {}, breastWeight = {}, bounceAmount = {};
+	private int[] constantsVersion = {};
+	private IGenderArmor[] constantsArmor = {};
+
+	// derived from the above at the start of each step by PhysicsWorld#prepare, and shared between both bodies
+	float[] motionY = {}, restingBounceY = {};
+	boolean[] inputsIdle = {}, verticalFlip = {};
+	int[] poseChange = {};
+	boolean[] swingBounce = {};
+	float[] swingAmplifier = {}, swingRotation = {};
+
+	private boolean[] captured = {};
+	int[] capturedSlots = {};
+	int capturedCount = 0;
+
+	void grow(int slots) {
+		armorStand = Arrays.copyOf(armorStand, slots);
+		canHaveBreasts = Arrays.copyOf(canHaveBreasts, slots);
+		armorPhysicsOverride = Arrays.copyOf(armorPhysicsOverride, slots);
+		uniboob = Arrays.copyOf(uniboob, slots);
+		bustSize = Arrays.copyOf(bustSize, slots);
+		bounceMultiplier = Arrays.copyOf(bounceMultiplier, slots);
+		floppiness = Arrays.copyOf(floppiness, slots);
+		armorTightness = Arrays.copyOf(armorTightness, slots);
+		armorResistance = Arrays.copyOf(armorResistance, slots);
+		positionX = Arrays.copyOf(positionX, slots);
+		positionY = Arrays.copyOf(positionY, slots);
+		positionZ = Arrays.copyOf(positionZ, slots);
+		velocityY = Arrays.copyOf(velocityY, slots);
+		velocityLengthSquared = Arrays.copyOf(velocityLengthSquared, slots);
+		limbPos = Arrays.copyOf(limbPos, slots);
+		limbSpeed = Arrays.copyOf(limbSpeed, slots);
+		yawDelta = Arrays.copyOf(yawDelta, slots);
+		pose = Arrays.copyOf(pose, slots);
+		swingDuration = Arrays.copyOf(swingDuration, slots);
+		handSwingTicks = Arrays.copyOf(handSwingTicks, slots);
+		age = Arrays.copyOf(age, slots);
+		handSwinging = Arrays.copyOf(handSwinging, slots);
+		mainArmRight = Arrays.copyOf(mainArmRight, slots);
+		swingingArmRight = Arrays.copyOf(swingingArmRight, slots);
+		vehicleProfile = Arrays.copyOf(vehicleProfile, slots);
+		vehicleId = Arrays.copyOf(vehicleId, slots);
+		vehicleAge = Arrays.copyOf(vehicleAge, slots);
+		vehicleSample = Arrays.copyOf(vehicleSample, slots);
+		tier = Arrays.copyOf(tier, slots);
+		interval = Arrays.copyOf(interval, slots);
+		targetBreastSize = Arrays.copyOf(targetBreastSize, slots);
+		bounceIntensity = Arrays.copyOf(bounceIntensity, slots);
+		breastWeight = Arrays.copyOf(breastWeight, slots);
+		bounceAmount = Arrays.copyOf(bounceAmount, slots);
+		int oldSlots = constantsVersion.length;
+		constantsVersion = Arrays.copyOf(constantsVersion, slots);
+		Arrays.fill(constantsVersion, oldSlots, slots, -1);
+		constantsArmor = Arrays.copyOf(constantsArmor, slots);
+		motionY = Arrays.copyOf(motionY, slots);
+		restingBounceY = Arrays.copyOf(restingBounceY, slots);
+		inputsIdle = Arrays.copyOf(inputsIdle, slots);
+		verticalFlip = Arrays.copyOf(verticalFlip, slots);
+		poseChange = Arrays.copyOf(poseChange, slots);
+		swingBounce = Arrays.copyOf(swingBounce, slots);
+		swingAmplifier = Arrays.copyOf(swingAmplifier, slots);
+		swingRotation = Arrays.copyOf(swingRotation, slots);
+		captured = Arrays.copyOf(captured, slots);
+		capturedSlots = Arrays.copyOf(capturedSlots, slots);
+	}
+
+	/**
+	 * Forget every slot captured so far
+	 */
+	void clear() {
+		for(int i = 0; i < capturedCount; i++) {
+			captured[capturedSlots[i]] = false;
+		}
+		capturedCount = 0;
+	}
+
+	/**
+	 * Forget everything captured for the provided slot, which is about to be freed; the slot won't be stepped again
+	 * until it's captured anew
+	 */
+	void release(int slot) {
+		if(captured[slot]) {
+			captured[slot] = false;
+			// this preserves the order of every other captured slot, which traces rely on being replayed in
+			for(int i = 0; i < capturedCount; i++) {
+				if(capturedSlots[i] == slot) {
+					System.arraycopy(capturedSlots, i + 1, capturedSlots, i, capturedCount - i - 1);
+					capturedCount--;
+					break;
+				}
+			}
+		}
+		pose[slot] = null;
+		vehicleProfile[slot] = null;
+		invalidate(slot);
+	}
+
+	/**
+	 * Forget the constants computed for the provided slot, forcing them to be recomputed the next time it's captured
+	 */
+	void invalidate(int slot) {
+		constantsVersion[slot] = -1;
+		constantsArmor[slot] = null;
+	}
+
+	/**
+	 * Recompute every value derived solely from the entity config and chest armor of the provided slot
+	 */
+	void updateConstants(int slot) {
+		float tightness = MathHelper.clamp(armorTightness[slot], 0, 1);
+		float resistance = MathHelper.clamp(armorResistance[slot], 0, 1);
+		if(armorPhysicsOverride[slot]) {
+			//override resistance
+			tightness = 0;
+			resistance = 0;
+		}
+
+		//Scale breast size by how tight the armor is, clamping at a max adjustment of shrinking by 0.15
+		float targetBreastSize = canHaveBreasts[slot] ? bustSize[slot] * (1 - 0.15F * tightness) : 0;
+		this.targetBreastSize[slot] = targetBreastSize;
+
+		float bounceIntensity = (targetBreastSize * 3f) * Math.round((bounceMultiplier[slot] * 3) * 100) / 100f;
+		//Adjust bounce intensity by physics resistance of the worn armor
+		this.bounceIntensity[slot] = bounceIntensity * (1 - resistance);
+
+		this.breastWeight[slot] = bustSize[slot] * 1.25f;
+		float bounceAmount = 0.45f * (1f - floppiness[slot]) + 0.15f; //0.6f * percent - 0.15f;
+		this.bounceAmount[slot] = MathHelper.clamp(bounceAmount, 0.15f, 0.6f);
+	}
+
+	/**
+	 * Mark the provided slot as captured this tick; every other input for the slot is expected to be written
+	 * immediately after this
+	 */
+	void begin(int slot, int tier, int interval) {
+		if(!captured[slot]) {
+			captured[slot] = true;
+			capturedSlots[capturedCount++] = slot;
+		}
+		this.tier[slot] = tier;
+		this.interval[slot] = interval;
+	}
+
+	/**
+	 * Write every captured input for the provided slot, in a format readable by {@link #read}
+	 *
+	 * @see PhysicsTraceRecorder
+	 */
+	void write(DataOutput out, int slot) throws IOException {
+		out.writeByte(tier[slot]);
+		out.writeByte(interval[slot]);
+		out.writeByte((armorStand[slot] ? 1 : 0)
+				| (canHaveBreasts[slot] ? 1 << 1 : 0)
+				| (armorPhysicsOverride[slot] ? 1 << 2 : 0)
+				| (uniboob[slot] ? 1 << 3 : 0)
+				| (handSwinging[slot] ? 1 << 4 : 0)
+				| (mainArmRight[slot] ? 1 << 5 : 0)
+				| (swingingArmRight[slot] ? 1 << 6 : 0));
+		out.writeFloat(bustSize[slot]);
+		out.writeFloat(bounceMultiplier[slot]);
+		out.writeFloat(floppiness[slot]);
+		out.writeFloat(armorTightness[slot]);
+		out.writeFloat(armorResistance[slot]);
+		if(armorStand[slot]) return;
+
+		out.writeDouble(positionX[slot]);
+		out.writeDouble(positionY[slot]);
+		out.writeDouble(positionZ[slot]);
+		out.writeDouble(velocityY[slot]);
+		out.writeDouble(velocityLengthSquared[slot]);
+		out.writeFloat(limbPos[slot]);
+		out.writeFloat(limbSpeed[slot]);
+		out.writeFloat(yawDelta[slot]);
+		out.writeByte(pose[slot].ordinal());
+		out.writeInt(swingDuration[slot]);
+		out.writeInt(handSwingTicks[slot]);
+		out.writeInt(age[slot]);
+
+		out.writeByte(VehicleMotionProfiles.idOf(vehicleProfile[slot]));
+		if(vehicleProfile[slot] != null) {
+			out.writeInt(vehicleId[slot]);
+			out.writeInt(vehicleAge[slot]);
+			out.writeFloat(vehicleSample[slot]);
+		}
+	}
+
+	/**
+	 * Read every input for the provided slot, as previously written by {@link #write}, and mark it as captured
+	 */
+	void read(DataInput in, int slot) throws IOException {
+		begin(slot, in.readByte(), in.readByte());
+		int flags = in.readByte();
+		armorStand[slot] = (flags & 1) != 0;
+		canHaveBreasts[slot] = (flags & 1 << 1) != 0;
+		armorPhysicsOverride[slot] = (flags & 1 << 2) != 0;
+		uniboob[slot] = (flags & 1 << 3) != 0;
+		handSwinging[slot] = (flags & 1 << 4) != 0;
+		mainArmRight[slot] = (flags & 1 << 5) != 0;
+		swingingArmRight[slot] = (flags & 1 << 6) != 0;
+		bustSize[slot] = in.readFloat();
+		bounceMultiplier[slot] = in.readFloat();
+		floppiness[slot] = in.readFloat();
+		armorTightness[slot] = in.readFloat();
+		armorResistance[slot] = in.readFloat();
+		invalidate(slot);
+		updateConstants(slot);
+		if(armorStand[slot]) return;
+
+		positionX[slot] = in.readDouble();
+		positionY[slot] = in.readDouble();
+		positionZ[slot] = in.readDouble();
+		velocityY[slot] = in.readDouble();
+		velocityLengthSquared[slot] = in.readDouble();
+		limbPos[slot] = in.readFloat();
+		limbSpeed[slot] = in.readFloat();
+		yawDelta[slot] = in.readFloat();
+		pose[slot] = POSES[in.readByte()];
+		swingDuration[slot] = in.readInt();
+		handSwingTicks[slot] = in.readInt();
+		age[slot] = in.readInt();
+
+		vehicleProfile[slot] = VehicleMotionProfiles.byId(in.readByte());
+		if(vehicleProfile[slot] != null) {
+			vehicleId[slot] = in.readInt();
+			vehicleAge[slot] = in.readInt();
+			vehicleSample[slot] = in.readFloat();
+		}
+	}
+
+	/**
+	 * Write the provided entity config and chest armor into the provided slot, only recomputing the constants derived
+	 * from them if either has changed since the slot was last captured
+	 */
+	void captureConfig(int slot, EntityConfig config, IGenderArmor armor) {
+		uniboob[slot] = config.getBreasts().isUniboob();
+		int version = config.getPhysicsVersion();
+		if(constantsVersion[slot] != version || constantsArmor[slot] != armor) {
+			canHaveBreasts[slot] = config.getGender().canHaveBreasts();
+			armorPhysicsOverride[slot] = config.getArmorPhysicsOverride();
+			bustSize[slot] = config.getBustSize();
+			bounceMultiplier[slot] = config.getBounceMultiplier();
+			floppiness[slot] = config.getFloppiness();
+			armorTightness[slot] = armor.tightness();
+			armorResistance[slot] = armor.physicsResistance();
+			updateConstants(slot);
+			constantsVersion[slot] = version;
+			constantsArmor[slot] = armor;
+		}
+	}
+
+	@Environment(EnvType.CLIENT)
+	void capture(int slot, EntityConfig config, LivingEntity entity, IGenderArmor armor, int tier, int interval) {
+		begin(slot, tier, interval);
+
+		armorStand[slot] = entity instanceof ArmorStandEntity;
+		captureConfig(slot, config, armor);
+
+		// armor stands only ever need their size updated, so skip capturing the rest of the entity state
+		if(armorStand[slot]) return;
+
+		positionX[slot] = entity.getX();
+		positionY[slot] = entity.getY();
+		positionZ[slot] = entity.getZ();
+		// note that this is the entity's own velocity vector, and not a copy
+		Vec3d velocity = entity.getVelocity();
+		velocityY[slot] = velocity.y;
+		velocityLengthSquared[slot] = velocity.lengthSquared();
+		limbPos[slot] = entity.limbAnimator.getPos();
+		limbSpeed[slot] = entity.limbAnimator.getSpeed();
+		pose[slot] = entity.getPose();
+
+		swingDuration[slot] = entity.getHandSwingDuration();
+		handSwingTicks[slot] = entity.handSwingTicks;
+		handSwinging[slot] = entity.handSwinging;
+		age[slot] = entity.age;
+		Arm mainArm = entity.getMainArm();
+		mainArmRight[slot] = mainArm == Arm.RIGHT;
+		Arm swingingArm = entity.preferredHand == Hand.MAIN_HAND ? mainArm : mainArm.getOpposite();
+		swingingArmRight[slot] = swingingArm == Arm.RIGHT;
+
+		Entity vehicle = entity.getVehicle();
+		captureVehicle(slot, entity, vehicle);
+		yawDelta[slot] = yawDelta(entity, vehicle, vehicleProfile[slot]);
+	}
+
+	private void captureVehicle(int slot, LivingEntity entity, @Nullable Entity vehicle) {
+		if(vehicle == null) {
+			vehicleProfile[slot] = null;
+			vehicleSample[slot] = 0;
+			vehicleAge[slot] = 0;
+			return;
+		}
+		if(vehicleProfile[slot] == null || vehicleId[slot] != vehicle.getId()) {
+			vehicleProfile[slot] = VehicleMotionProfiles.resolve(vehicle);
+			vehicleId[slot] = vehicle.getId();
+		}
+		vehicleSample[slot] = vehicleProfile[slot].sample(entity, vehicle);
+		vehicleAge[slot] = vehicle.age;
+	}
+
+	/**
+	 * @return How far the provided entity's body (or the vehicle it's riding) has rotated since the last tick
+	 */
+	private static float yawDelta(LivingEntity entity, @Nullable Entity vehicle, @Nullable VehicleMotionProfile profile) {
+		if(vehicle != null && profile != null) {
+			if(profile.suppressesRotation(entity, vehicle)) {
+				return 0f;
+			} else if(profile.usesVehicleYaw(entity, vehicle)) {
+				if(vehicle instanceof LivingEntity livingVehicle) {
+					return livingVehicle.bodyYaw - livingVehicle.prevBodyYaw;
+				} else {
+					return vehicle.getYaw() - vehicle.prevYaw;
+				}
+			}
+		}
+
+		return entity.bodyYaw - entity.prevBodyYaw;
+	}
+}
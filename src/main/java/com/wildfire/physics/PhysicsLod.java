@@ -0,0 +1,193 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.main.config.enums.PhysicsQuality;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.util.math.Vec3d;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>Level-of-detail scheduler for the {@link PhysicsWorld}, deciding how often each entity is simulated based on
+ * its distance from the camera, and whether it was recently rendered.</p>
+ *
+ * <ul>
+ *     <li>{@link #NEAR Near} entities are simulated every tick, as usual</li>
+ *     <li>{@link #MID Mid-range} entities are only simulated every few ticks, with each step covering every tick
+ *     since the last one</li>
+ *     <li>{@link #FROZEN Far away} entities, and entities that haven't been rendered recently, are held at
+ *     their rest pose</li>
+ * </ul>
+ *
+ * <p>The configured distances and mid-range interval are further scaled by the {@link PhysicsQuality quality}
+ * setting; with {@link PhysicsQuality#ADAPTIVE adaptive quality}, this steps down through progressively lower
+ * qualities whenever the average time spent per step exceeds {@link GlobalConfig#PHYSICS_BUDGET_MICROS the budget},
+ * and back up once there's plenty of headroom again.</p>
+ *
+ * @see GlobalConfig#PHYSICS_LOD
+ * @see GlobalConfig#PHYSICS_QUALITY
+ */
+@ApiStatus.Internal
+public final class PhysicsLod {
+
+	public static final int NEAR = 0, MID = 1, FROZEN = 2;
+
+	// how many ticks an entity is still considered visible for after it was last rendered, which mainly serves to
+	// cover for frame rates lower than the tick rate
+	private static final int VISIBILITY_GRACE_TICKS = 5;
+
+	// the qualities adaptive quality steps through, from best to worst
+	private static final PhysicsQuality[] ADAPTIVE_LEVELS = {PhysicsQuality.HIGH, PhysicsQuality.MEDIUM, PhysicsQuality.LOW};
+	// how many ticks must pass before adaptive quality may step down again, or back up; stepping up is much slower,
+	// as the quality would otherwise oscillate around the budget
+	private static final int ADAPT_DOWN_TICKS = 20, ADAPT_UP_TICKS = 200;
+	// how much of each new step time is blended into the running average
+	private static final double STEP_TIME_SMOOTHING = 0.1;
+
+	private final PhysicsWorld world;
+	private int tick = 0;
+	private boolean enabled = false, frozen = false;
+	private PhysicsQuality quality = PhysicsQuality.HIGH;
+	private int adaptiveLevel = 0, ticksSinceAdapted = 0;
+	private double averageStepNanos = 0;
+	private double nearDistanceSq, farDistanceSq;
+	private int midInterval = 1;
+	private double cameraX, cameraY, cameraZ;
+	private @Nullable Entity cameraEntity;
+
+	PhysicsLod(PhysicsWorld world) {
+		this.world = world;
+	}
+
+	/**
+	 * Re-read the configured tiers, and update the camera position distances are measured from; this is expected
+	 * to be called once per client tick, before any entities are captured.
+	 */
+	public void refresh(Vec3d cameraPos, @Nullable Entity cameraEntity) {
+		this.tick++;
+		PhysicsQuality quality = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_QUALITY);
+		if(quality == PhysicsQuality.ADAPTIVE) {
+			quality = adapt(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_BUDGET_MICROS));
+		} else {
+			adaptiveLevel = 0;
+			averageStepNanos = 0;
+		}
+		this.quality = quality;
+		// anything other than high quality always applies LOD, regardless of whether it's otherwise enabled
+		this.enabled = quality != PhysicsQuality.HIGH || GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD);
+		this.frozen = quality == PhysicsQuality.OFF;
+		float near = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_NEAR_DISTANCE) * quality.getDistanceScale();
+		float far = Math.max(near, GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_FAR_DISTANCE) * quality.getDistanceScale());
+		this.nearDistanceSq = near * near;
+		this.farDistanceSq = far * far;
+		this.midInterval = Math.max(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_LOD_MID_INTERVAL), quality.getMinMidInterval());
+		this.cameraX = cameraPos.x;
+		this.cameraY = cameraPos.y;
+		this.cameraZ = cameraPos.z;
+		this.cameraEntity = cameraEntity;
+	}
+
+	/**
+	 * Step adaptive quality up or down based on how long recent steps took
+	 *
+	 * @return The quality to use for the next tick
+	 */
+	private PhysicsQuality adapt(int budgetMicros) {
+		// note that this is always at least a tick behind when stepping physics on a worker thread
+		averageStepNanos += (world.getLastStepNanos() - averageStepNanos) * STEP_TIME_SMOOTHING;
+		ticksSinceAdapted++;
+		double budgetNanos = budgetMicros * 1000.0;
+		if(averageStepNanos > budgetNanos && adaptiveLevel < ADAPTIVE_LEVELS.length - 1 && ticksSinceAdapted >= ADAPT_DOWN_TICKS) {
+			adaptiveLevel++;
+			ticksSinceAdapted = 0;
+		} else if(averageStepNanos < budgetNanos / 2 && adaptiveLevel > 0 && ticksSinceAdapted >= ADAPT_UP_TICKS) {
+			adaptiveLevel--;
+			ticksSinceAdapted = 0;
+		}
+		return ADAPTIVE_LEVELS[adaptiveLevel];
+	}
+
+	/**
+	 * @return The quality currently in effect; with adaptive quality, this is whichever quality it has settled on
+	 */
+	public PhysicsQuality getQuality() {
+		return quality;
+	}
+
+	/**
+	 * Forget the current camera, causing every entity to be simulated at full detail until the next {@link #refresh}
+	 */
+	public void reset() {
+		this.enabled = false;
+		this.frozen = false;
+		this.cameraEntity = null;
+	}
+
+	/**
+	 * @return How many client ticks this scheduler has been refreshed for; this is independent of how many ticks the
+	 *         {@link PhysicsWorld} has actually simulated, which may differ when using a fixed timestep
+	 */
+	public int getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The tier that the provided entity should be simulated at this tick
+	 */
+	int tierOf(LivingEntity entity) {
+		if(!enabled) {
+			return NEAR;
+		}
+		// physics being turned off applies to every entity, including the local player
+		if(frozen) {
+			return FROZEN;
+		}
+		// otherwise, the camera entity is never culled, as it isn't rendered in first person, but is still expected to
+		// have up-to-date physics the moment that it is (such as in the inventory or when switching to third person)
+		if(entity == cameraEntity) {
+			return NEAR;
+		}
+		if(((LodVisibilityTracker) entity).getLastRenderedTick() < tick - VISIBILITY_GRACE_TICKS) {
+			return FROZEN;
+		}
+		double distanceSq = entity.squaredDistanceTo(cameraX, cameraY, cameraZ);
+		if(distanceSq <= nearDistanceSq) {
+			return NEAR;
+		}
+		return distanceSq <= farDistanceSq ? MID : FROZEN;
+	}
+
+	/**
+	 * @return How many ticks a single step covers for entities in the provided tier
+	 */
+	int intervalOf(int tier) {
+		return tier == MID ? midInterval : 1;
+	}
+
+	/**
+	 * @return {@code true} if the provided slot should be simulated this tick; slots in the mid tier are staggered
+	 *         across ticks to avoid them all being simulated at once
+	 */
+	boolean isDue(int tier, int slot) {
+		return tier != MID || (tick + slot) % midInterval == 0;
+	}
+}
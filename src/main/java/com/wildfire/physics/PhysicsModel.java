@@ -0,0 +1,74 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import com.wildfire.main.config.enums.PhysicsModelType;
+
+/**
+ * <p>Solves the springs of a batch of bodies, once {@link PhysicsWorld} has computed where each of them is being pulled
+ * towards for the current step.</p>
+ *
+ * <p>Implementations read the targets and tuning of each body from {@link PhysicsWorld#springTargetX} and friends,
+ * advance its state by {@link PhysicsWorld#springSteps} ticks, and write back the resulting rendered position; all
+ * models share the same state, allowing bodies to freely switch between them as they move between LOD tiers.</p>
+ *
+ * <p>This is deliberately kept internal: implementations work directly on the packed state arrays of the
+ * {@link PhysicsWorld}, which aren't a stable API. Models can only be chosen from the built-in
+ * {@link PhysicsModelType types}, which also keeps them identifiable in physics traces.</p>
+ *
+ * @see PhysicsModelType
+ */
+interface PhysicsModel {
+	/**
+	 * The original lerp-based spring, run once for every elapsed tick
+	 */
+	PhysicsModel SPRING = SpringKernel.select();
+	/**
+	 * A cheaper critically damped spring, solved in closed form regardless of how many ticks have passed
+	 */
+	PhysicsModel CRITICALLY_DAMPED = new CriticallyDampedModel();
+	/**
+	 * A more accurate damped spring, integrated with velocity Verlet across several substeps per tick
+	 */
+	PhysicsModel VERLET = new VerletModel();
+
+	/**
+	 * Run the springs of every body in {@code bodies[from, to)}
+	 */
+	void solve(PhysicsWorld world, int[] bodies, int from, int to);
+
+	/**
+	 * The inverse of {@link #of(PhysicsModelType)}
+	 *
+	 * @throws IllegalArgumentException If the provided model isn't one of the built-in models
+	 */
+	static PhysicsModelType typeOf(PhysicsModel model) {
+		if(model == SPRING) return PhysicsModelType.SPRING;
+		if(model == CRITICALLY_DAMPED) return PhysicsModelType.CRITICALLY_DAMPED;
+		if(model == VERLET) return PhysicsModelType.VERLET;
+		throw new IllegalArgumentException("Unknown physics model " + model);
+	}
+
+	static PhysicsModel of(PhysicsModelType type) {
+		return switch(type) {
+			case SPRING -> SPRING;
+			case CRITICALLY_DAMPED -> CRITICALLY_DAMPED;
+			case VERLET -> VERLET;
+		};
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+
+/**
+ * <p>A copy of everything the renderer reads from the {@link PhysicsWorld}, taken at the end of a step.</p>
+ *
+ * <p>The world keeps two of these, and swaps them once each step has finished; the renderer only ever reads the
+ * front snapshot, which is never written to while it's published. This allows steps to run on a worker thread without
+ * the renderer ever observing a partially integrated step.</p>
+ *
+ * <p>Anything reading several values for the same entity should grab the {@link PhysicsWorld#getSnapshot() current
+ * snapshot} once and read everything from it, as another step may be published in the meantime.</p>
+ */
+@ApiStatus.Internal
+public final class PhysicsSnapshot {
+	// the tick count of the world when this snapshot was taken
+	int ticks;
+	// per-body
+	float[] breastSize = {}, preBreastSize = {};
+	float[] positionX = {}, prePositionX = {};
+	float[] positionY = {}, prePositionY = {};
+	float[] bounceRotation = {}, preBounceRotation = {};
+	// per-slot
+	int[] steppedAt = {}, stepInterval = {};
+
+	void grow(int slots, int bodies) {
+		breastSize = Arrays.copyOf(breastSize, bodies);
+		preBreastSize = Arrays.copyOf(preBreastSize, bodies);
+		positionX = Arrays.copyOf(positionX, bodies);
+		prePositionX = Arrays.copyOf(prePositionX, bodies);
+		positionY = Arrays.copyOf(positionY, bodies);
+		prePositionY = Arrays.copyOf(prePositionY, bodies);
+		bounceRotation = Arrays.copyOf(bounceRotation, bodies);
+		preBounceRotation = Arrays.copyOf(preBounceRotation, bodies);
+		steppedAt = Arrays.copyOf(steppedAt, slots);
+		stepInterval = Arrays.copyOf(stepInterval, slots);
+	}
+}
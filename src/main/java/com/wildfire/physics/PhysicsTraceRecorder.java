@@ -0,0 +1,151 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import com.wildfire.main.WildfireGender;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>Records everything required to deterministically replay a {@link PhysicsWorld}: the {@link PhysicsModel models}
+ * in use and an initial snapshot of the world, followed by every slot allocation, release, model change, and step
+ * (including the captured inputs of every simulated slot) that happens afterward.</p>
+ *
+ * <p>Each step additionally records a {@link PhysicsWorld#getLastChecksum() checksum} of its output, allowing
+ * {@link PhysicsTraceReplayer} to verify that changes to the physics code leave the simulation bit-for-bit
+ * identical.</p>
+ *
+ * <p>Recording may be enabled in-game by launching the client with the {@value #TRACE_PROPERTY} system property set
+ * to the path the trace should be written to.</p>
+ */
+@ApiStatus.Internal
+public final class PhysicsTraceRecorder implements AutoCloseable {
+	public static final String TRACE_PROPERTY = "wildfire_gender.physicsTrace";
+
+	static final int MAGIC = 0x57475054; // "WGPT"
+	static final int VERSION = 2;
+
+	static final byte ALLOCATE = 0;
+	static final byte FREE = 1;
+	static final byte STEP = 2;
+	static final byte END = 3;
+	static final byte MODELS = 4;
+
+	private final DataOutputStream out;
+	private boolean failed;
+
+	public PhysicsTraceRecorder(Path path) throws IOException {
+		this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+	}
+
+	/**
+	 * Start recording into the file named by the {@value #TRACE_PROPERTY} system property, if it is set
+	 */
+	public static void startFromProperty() {
+		String path = System.getProperty(TRACE_PROPERTY);
+		if(path == null || path.isBlank()) return;
+		try {
+			PhysicsWorld.INSTANCE.startRecording(new PhysicsTraceRecorder(Path.of(path)));
+			WildfireGender.LOGGER.info("Recording breast physics trace to {}", path);
+		} catch(IOException e) {
+			WildfireGender.LOGGER.error("Failed to start recording breast physics trace", e);
+		}
+	}
+
+	void begin(PhysicsWorld world) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		writeModels(world);
+		world.writeSnapshot(out);
+	}
+
+	private void writeModels(PhysicsWorld world) throws IOException {
+		out.writeByte(PhysicsModel.typeOf(world.getNearModel()).ordinal());
+		out.writeByte(PhysicsModel.typeOf(world.getMidModel()).ordinal());
+	}
+
+	void models(PhysicsWorld world) {
+		if(failed) return;
+		try {
+			out.writeByte(MODELS);
+			writeModels(world);
+		} catch(IOException e) {
+			fail(e);
+		}
+	}
+
+	void allocate(PhysicsWorld world, int slot, long seed) {
+		if(failed) return;
+		try {
+			out.writeByte(ALLOCATE);
+			out.writeInt(slot);
+			out.writeLong(seed);
+		} catch(IOException e) {
+			fail(e);
+		}
+	}
+
+	void free(PhysicsWorld world, int slot) {
+		if(failed) return;
+		try {
+			out.writeByte(FREE);
+			out.writeInt(slot);
+		} catch(IOException e) {
+			fail(e);
+		}
+	}
+
+	void step(PhysicsWorld world, PhysicsFrame frame, int substeps) {
+		if(failed) return;
+		try {
+			out.writeByte(STEP);
+			out.writeByte(substeps);
+			out.writeInt(frame.capturedCount);
+			for(int i = 0; i < frame.capturedCount; i++) {
+				int slot = frame.capturedSlots[i];
+				out.writeInt(slot);
+				frame.write(out, slot);
+			}
+			out.writeLong(world.getLastChecksum());
+		} catch(IOException e) {
+			fail(e);
+		}
+	}
+
+	private void fail(IOException e) {
+		WildfireGender.LOGGER.error("Failed to write breast physics trace, recording has been stopped", e);
+		failed = true;
+	}
+
+	@Override
+	public void close() {
+		try {
+			if(!failed) {
+				out.writeByte(END);
+			}
+			out.close();
+		} catch(IOException e) {
+			WildfireGender.LOGGER.error("Failed to close breast physics trace", e);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import com.wildfire.main.config.enums.PhysicsModelType;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <p>Replays a trace written by {@link PhysicsTraceRecorder} against a fresh {@link PhysicsWorld}, verifying that every
+ * step produces exactly the same output as when it was recorded.</p>
+ *
+ * <p>This doesn't require a running client, and may be invoked directly through {@link #main(String[])} to check a
+ * change to the physics code for regressions, or to time the simulation against a real-world workload.</p>
+ *
+ * <p>With {@code --compare-kernels}, the trace is instead replayed once with each {@link SpringKernel}, checking that
+ * the vectorized kernel produces exactly the same output as the scalar kernel on every step.</p>
+ */
+@ApiStatus.Internal
+public final class PhysicsTraceReplayer {
+	private final PhysicsWorld world = new PhysicsWorld();
+	// replaces the default spring model wherever the trace uses it, if set
+	private final @Nullable SpringKernel springKernel;
+	private final LongArrayList checksums = new LongArrayList();
+	private int steps, mismatches, firstMismatch = -1;
+	private long stepNanos;
+
+	public PhysicsTraceReplayer() {
+		this(null);
+	}
+
+	PhysicsTraceReplayer(@Nullable SpringKernel springKernel) {
+		this.springKernel = springKernel;
+	}
+
+	/**
+	 * Replay the provided trace to completion
+	 *
+	 * @throws IllegalStateException If the trace is malformed, or slot allocation diverges from the recording
+	 */
+	public void replay(DataInputStream in) throws IOException {
+		if(in.readInt() != PhysicsTraceRecorder.MAGIC) {
+			throw new IllegalStateException("Not a breast physics trace");
+		}
+		int version = in.readInt();
+		if(version != PhysicsTraceRecorder.VERSION) {
+			throw new IllegalStateException("Unsupported trace version " + version);
+		}
+		// the trace is always replayed with the models it was recorded with, regardless of what's currently configured
+		readModels(in);
+		world.readSnapshot(in);
+		world.setChecksumsEnabled(true);
+
+		PhysicsFrame frame = world.getFrame();
+		while(true) {
+			int tag;
+			try {
+				tag = in.readByte();
+			} catch(EOFException e) {
+				// the client may have been closed without stopping the recording
+				return;
+			}
+			switch(tag) {
+				case PhysicsTraceRecorder.ALLOCATE -> {
+					int expected = in.readInt();
+					int slot = world.allocate(in.readLong());
+					if(slot != expected) {
+						throw new IllegalStateException("Allocated slot " + slot + ", but the trace expected " + expected);
+					}
+				}
+				case PhysicsTraceRecorder.FREE -> world.free(in.readInt());
+				case PhysicsTraceRecorder.MODELS -> readModels(in);
+				case PhysicsTraceRecorder.STEP -> {
+					int substeps = in.readByte();
+					int count = in.readInt();
+					for(int i = 0; i < count; i++) {
+						frame.read(in, in.readInt());
+					}
+					long expected = in.readLong();
+					world.step(substeps);
+					stepNanos += world.getLastStepNanos();
+					checksums.add(world.getLastChecksum());
+					if(world.getLastChecksum() != expected) {
+						if(firstMismatch == -1) firstMismatch = steps;
+						mismatches++;
+					}
+					steps++;
+				}
+				case PhysicsTraceRecorder.END -> {
+					return;
+				}
+				default -> throw new IllegalStateException("Unknown trace record " + tag);
+			}
+		}
+	}
+
+	private void readModels(DataInputStream in) throws IOException {
+		PhysicsModel near = readModel(in), mid = readModel(in);
+		world.setModels(near, mid);
+	}
+
+	private PhysicsModel readModel(DataInputStream in) throws IOException {
+		int id = in.readByte();
+		if(id < 0 || id >= PhysicsModelType.values().length) {
+			throw new IllegalStateException("Unknown physics model " + id);
+		}
+		PhysicsModelType type = PhysicsModelType.BY_ID.apply(id);
+		if(type == PhysicsModelType.SPRING && springKernel != null) {
+			return springKernel;
+		}
+		return PhysicsModel.of(type);
+	}
+
+	public int getSteps() {
+		return steps;
+	}
+
+	public int getMismatches() {
+		return mismatches;
+	}
+
+	/**
+	 * @return The index of the first step whose output differed from the recording, or {@code -1} if every step matched
+	 */
+	public int getFirstMismatch() {
+		return firstMismatch;
+	}
+
+	public long getStepNanos() {
+		return stepNanos;
+	}
+
+	/**
+	 * @return The index of the first step whose output differed between this replay and the provided replay of the same
+	 *         trace, or {@code -1} if every step matched
+	 */
+	public int firstDivergenceFrom(PhysicsTraceReplayer other) {
+		int steps = Math.min(checksums.size(), other.checksums.size());
+		for(int i = 0; i < steps; i++) {
+			if(checksums.getLong(i) != other.checksums.getLong(i)) {
+				return i;
+			}
+		}
+		return checksums.size() == other.checksums.size() ? -1 : steps;
+	}
+
+	private static void replay(PhysicsTraceReplayer replayer, Path trace) throws IOException {
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(trace)))) {
+			replayer.replay(in);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		boolean compareKernels = args.length == 2 && args[0].equals("--compare-kernels");
+		if(args.length != 1 && !compareKernels) {
+			System.err.println("Usage: PhysicsTraceReplayer [--compare-kernels] <trace file>");
+			System.exit(2);
+		}
+		Path trace = Path.of(args[args.length - 1]);
+		if(compareKernels) {
+			compareKernels(trace);
+			return;
+		}
+		PhysicsTraceReplayer replayer = new PhysicsTraceReplayer();
+		replay(replayer, trace);
+		System.out.printf("Replayed %d steps in %.3f ms%n", replayer.getSteps(), replayer.getStepNanos() / 1e6);
+		if(replayer.getMismatches() > 0) {
+			System.out.printf("%d steps diverged from the recording, starting at step %d%n",
+					replayer.getMismatches(), replayer.getFirstMismatch());
+			System.exit(1);
+		}
+		System.out.println("Output matched the recording");
+	}
+
+	private static void compareKernels(Path trace) throws IOException {
+		SpringKernel vectorized = SpringKernel.vectorized();
+		if(vectorized == null) {
+			System.err.println("The vectorized kernel isn't available; run with --add-modules=jdk.incubator.vector on a CPU with at least 128-bit vectors");
+			System.exit(2);
+		}
+		PhysicsTraceReplayer scalar = new PhysicsTraceReplayer(SpringKernel.SCALAR);
+		PhysicsTraceReplayer vector = new PhysicsTraceReplayer(vectorized);
+		replay(scalar, trace);
+		replay(vector, trace);
+		System.out.printf("Replayed %d steps in %.3f ms with the scalar kernel, and %.3f ms with the vectorized kernel%n",
+				scalar.getSteps(), scalar.getStepNanos() / 1e6, vector.getStepNanos() / 1e6);
+		int divergence = vector.firstDivergenceFrom(scalar);
+		if(divergence != -1) {
+			System.out.printf("The kernels diverged starting at step %d%n", divergence);
+			System.exit(1);
+		}
+		System.out.println("Both kernels produced identical output");
+	}
+}
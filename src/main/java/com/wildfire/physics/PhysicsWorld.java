@@ -0,0 +1,1308 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.api.VehicleMotionProfile;
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.main.entitydata.EntityConfig;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.entity.EntityPose;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Storage for the breast physics state of every loaded entity, laid out as packed primitive arrays.</p>
+ *
+ * <p>Each {@link EntityConfig} owns a single slot in this world, which maps onto two bodies (one for each
+ * {@link #LEFT left} and {@link #RIGHT right} breast); the index of a body in any of the state arrays is given by
+ * {@link #body(int, int)}. {@link BreastPhysics} instances are simply views over this storage.</p>
+ *
+ * <p>Simulation happens in two phases: entities {@link #capture(LivingEntity) capture} their inputs into a
+ * {@link PhysicsFrame} as they tick, and every captured body is then integrated at once at the end of the client
+ * tick through {@link #step()}.</p>
+ *
+ * <p>As every slot only ever reads its own inputs and writes its own bodies, integration may optionally be split across
+ * a fork-join pool once enough entities are being simulated; see {@link GlobalConfig#PARALLEL_PHYSICS}.</p>
+ *
+ * <p>How often each entity is actually simulated is decided by the {@link PhysicsLod level-of-detail scheduler}.</p>
+ *
+ * <p>Integrating a slot first computes the spring targets for each of its bodies, after which the springs of every
+ * awake body in the batch are solved together by the {@link PhysicsModel} configured for its LOD tier; the default
+ * spring model may optionally be vectorized; see {@link SpringKernel}.</p>
+ *
+ * <p>The renderer never reads the live state directly, and instead reads from a {@link PhysicsSnapshot} published at
+ * the end of every step. With {@link GlobalConfig#THREADED_PHYSICS}, this allows steps to run on a dedicated worker
+ * thread while the client thread carries on capturing the next tick into a separate frame; anything else which touches
+ * the live state (such as allocating or freeing slots) first waits for the running step to finish.</p>
+ *
+ * <p>By default, a step is taken at the end of every client tick. Alternatively, with
+ * {@link GlobalConfig#PHYSICS_FIXED_TIMESTEP}, steps are instead driven by real time from the start of every rendered
+ * frame through {@link #advance()}, with a fixed step length matching a single tick and a cap on how many steps may be
+ * taken in a single frame; this keeps the cost of physics bounded per frame, and avoids the springs jittering when
+ * the client falls behind and runs several ticks in quick succession.</p>
+ *
+ * @apiNote This is only ever populated on the client; all methods which mutate state are expected to be called
+ *          from the client thread.
+ */
+@ApiStatus.Internal
+public final class PhysicsWorld {
+
+	public static final PhysicsWorld INSTANCE = new PhysicsWorld();
+
+	public static final int NO_SLOT = -1;
+	public static final int LEFT = 0, RIGHT = 1;
+	private static final int BODIES_PER_SLOT = 2;
+	private static final int INITIAL_SLOTS = 32;
+	// the smallest number of slots that a single fork-join task will integrate before it stops splitting
+	private static final int SLOTS_PER_TASK = 16;
+	// how close to zero every input and spring velocity must be for a body to be considered at rest, and for how
+	// many consecutive ticks before it's put to sleep
+	private static final float REST_EPSILON = 1.0E-3F;
+	private static final int TICKS_UNTIL_SLEEP = 20;
+	private static final long FIXED_STEP_NANOS = 50_000_000L;
+	// the most ticks' worth of spring updates that a single body may catch up on in one step
+	private static final int MAX_CATCH_UP_TICKS = 8;
+
+	// the spring state is package-private for the benefit of VectorSpringKernel, and should otherwise only be touched
+	// from within this class
+
+	//X-Axis
+	float[] bounceVelX = {}, velocityX = {}, positionX = {};
+	private float[] prePositionX = {};
+	//Y-Axis
+	float[] bounceVel = {}, velocity = {}, positionY = {};
+	private float[] prePositionY = {};
+	//Rotation
+	float[] bounceRotVel = {}, rotVelocity = {}, bounceRotation = {};
+	private float[] preBounceRotation = {};
+	// the targets and tuning of every body's springs for the current step, as computed by #update
+	float[] springTargetX = {}, springTargetY = {}, springTargetRot = {}, springAmount = {}, springPercent = {};
+	int[] springSteps = {};
+
+	private float[] breastSize = {}, preBreastSize = {};
+
+	private int[] randomB = {};
+	// xorshift state for each body, seeded from the owning entity's UUID so that a given sequence of inputs will
+	// always produce the same output
+	private long[] random = {};
+	private int[] restTicks = {};
+
+	// per-slot; the position of the entity when it was last updated, and its age at the time
+	private double[] prePosX = {}, prePosY = {}, prePosZ = {};
+	private boolean[] hasPrePos = {};
+	private int[] lastAge = {};
+	// per-slot; entity state from the last time each slot was stepped, used to detect changes between steps
+	private EntityPose[] lastPose = {};
+	private int[] lastSwingDuration = {}, lastSwingTick = {};
+	private double[] lastVerticalMoveVelocity = {};
+	// per-slot; the tick that each slot was last stepped on, and how many ticks it's expected to go between steps
+	private int[] steppedAt = {}, stepInterval = {};
+	// per-slot, and only touched on the client thread; the chestplate and config version each frozen slot was last
+	// captured with, which are used to skip capturing it again until either changes or it leaves the frozen tier
+	private ItemStack[] frozenChestplate = {};
+	private int[] frozenVersion = {};
+
+	// scratch space for integration; bodies which need their springs run, indexed from twice the captured index of the
+	// first slot in each integrated range, and uniboob slots that need mirroring, indexed from the captured index
+	private int[] springQueue = {}, mirrorQueue = {};
+
+	// entities capture into the front frame, which is swapped with the spare frame before stepping on the worker thread,
+	// as the step frame is the one currently being integrated; without a worker thread, all three are the same frame
+	private PhysicsFrame frame = new PhysicsFrame(), spareFrame = new PhysicsFrame();
+	private PhysicsFrame stepFrame = frame;
+	// the renderer only ever reads from the front snapshot, which is swapped with the back snapshot after each step
+	private volatile PhysicsSnapshot front = new PhysicsSnapshot();
+	private PhysicsSnapshot back = new PhysicsSnapshot();
+	private ExecutorService worker;
+	private @Nullable CompletableFuture<Void> pendingStep;
+	private boolean threaded = false;
+	private PhysicsModel nearModel = PhysicsModel.SPRING, midModel = PhysicsModel.SPRING;
+	private final PhysicsLod lod = new PhysicsLod(this);
+	private ForkJoinPool pool;
+	private int ticks = 0;
+	private boolean fixedTimestep = false;
+	private int maxSubsteps = 1;
+	// the number of captured entities at which integration is split across the fork-join pool, or 0 if disabled; this
+	// is only ever read on the client thread, and passed to each step when it's dispatched
+	private int parallelThreshold = 0;
+	private long lastAdvanceNanos = 0, accumulatedNanos = 0;
+	private float stepProgress = 0;
+	private @Nullable PhysicsTraceRecorder recorder;
+	private boolean checksums;
+	private long lastChecksum;
+	// written from the worker thread when using threaded physics
+	private volatile long lastStepNanos;
+
+	private int slotCapacity = 0, slotCount = 0;
+	private final IntArrayList freeSlots = new IntArrayList();
+	// configs may be evicted from their caches on any thread, so defer actually freeing their slots until
+	// we're back on the client thread
+	private final Queue<EntityConfig> pendingRelease = new ConcurrentLinkedQueue<>();
+
+	// only visible for benchmarks; everything else should use INSTANCE
+	PhysicsWorld() {
+		grow(INITIAL_SLOTS);
+	}
+
+	/**
+	 * @return The index of the given {@code side} of the given {@code slot} in the body state arrays
+	 */
+	public static int body(int slot, int side) {
+		return slot * BODIES_PER_SLOT + side;
+	}
+
+	private void grow(int slots) {
+		int bodies = slots * BODIES_PER_SLOT;
+		bounceVelX = Arrays.copyOf(bounceVelX, bodies);
+		velocityX = Arrays.copyOf(velocityX, bodies);
+		positionX = Arrays.copyOf(positionX, bodies);
+		prePositionX = Arrays.copyOf(prePositionX, bodies);
+		bounceVel = Arrays.copyOf(bounceVel, bodies);
+		velocity = Arrays.copyOf(velocity, bodies);
+		positionY = Arrays.copyOf(positionY, bodies);
+		prePositionY = Arrays.copyOf(prePositionY, bodies);
+		bounceRotVel = Arrays.copyOf(bounceRotVel, bodies);
+		rotVelocity = Arrays.copyOf(rotVelocity, bodies);
+		bounceRotation = Arrays.copyOf(bounceRotation, bodies);
+		preBounceRotation = Arrays.copyOf(preBounceRotation, bodies);
+		breastSize = Arrays.copyOf(breastSize, bodies);
+		preBreastSize = Arrays.copyOf(preBreastSize, bodies);
+		randomB = Arrays.copyOf(randomB, bodies);
+		random = Arrays.copyOf(random, bodies);
+		restTicks = Arrays.copyOf(restTicks, bodies);
+		springTargetX = Arrays.copyOf(springTargetX, bodies);
+		springTargetY = Arrays.copyOf(springTargetY, bodies);
+		springTargetRot = Arrays.copyOf(springTargetRot, bodies);
+		springAmount = Arrays.copyOf(springAmount, bodies);
+		springPercent = Arrays.copyOf(springPercent, bodies);
+		springSteps = Arrays.copyOf(springSteps, bodies);
+		springQueue = Arrays.copyOf(springQueue, bodies);
+		mirrorQueue = Arrays.copyOf(mirrorQueue, slots);
+		prePosX = Arrays.copyOf(prePosX, slots);
+		prePosY = Arrays.copyOf(prePosY, slots);
+		prePosZ = Arrays.copyOf(prePosZ, slots);
+		hasPrePos = Arrays.copyOf(hasPrePos, slots);
+		lastAge = Arrays.copyOf(lastAge, slots);
+		lastPose = Arrays.copyOf(lastPose, slots);
+		lastSwingDuration = Arrays.copyOf(lastSwingDuration, slots);
+		lastSwingTick = Arrays.copyOf(lastSwingTick, slots);
+		lastVerticalMoveVelocity = Arrays.copyOf(lastVerticalMoveVelocity, slots);
+		steppedAt = Arrays.copyOf(steppedAt, slots);
+		stepInterval = Arrays.copyOf(stepInterval, slots);
+		frozenChestplate = Arrays.copyOf(frozenChestplate, slots);
+		frozenVersion = Arrays.copyOf(frozenVersion, slots);
+		frame.grow(slots);
+		spareFrame.grow(slots);
+		front.grow(slots, bodies);
+		back.grow(slots, bodies);
+		slotCapacity = slots;
+	}
+
+	/**
+	 * Allocate a new slot, growing the backing arrays if required
+	 *
+	 * @param seed The seed used for the random source of both bodies in this slot; this is typically derived from the
+	 *             owning entity's UUID
+	 *
+	 * @return The newly allocated slot, with both of its bodies reset to their initial state
+	 */
+	public int allocate(long seed) {
+		awaitStep();
+		int slot;
+		if(!freeSlots.isEmpty()) {
+			slot = freeSlots.popInt();
+		} else {
+			if(slotCount == slotCapacity) {
+				grow(slotCapacity * 2);
+			}
+			slot = slotCount++;
+		}
+		reset(body(slot, LEFT));
+		reset(body(slot, RIGHT));
+		random[body(slot, LEFT)] = seed(seed, LEFT);
+		random[body(slot, RIGHT)] = seed(seed, RIGHT);
+		hasPrePos[slot] = false;
+		lastAge[slot] = 0;
+		lastPose[slot] = null;
+		lastSwingDuration[slot] = 6;
+		lastSwingTick[slot] = 0;
+		lastVerticalMoveVelocity[slot] = 0;
+		steppedAt[slot] = ticks;
+		stepInterval[slot] = 1;
+		frozenChestplate[slot] = null;
+		frame.invalidate(slot);
+		spareFrame.invalidate(slot);
+		publish(slot, front);
+		publish(slot, back);
+		if(recorder != null) {
+			recorder.allocate(this, slot, seed);
+		}
+		return slot;
+	}
+
+	/**
+	 * Return the provided slot to the world, allowing it to be reused by another entity
+	 */
+	public void free(int slot) {
+		if(slot < 0 || slot >= slotCount) {
+			throw new IllegalArgumentException("Slot " + slot + " was never allocated");
+		}
+		awaitStep();
+		// with a fixed timestep, inputs captured for this slot may still be waiting for the next step, which would
+		// otherwise be applied to whichever entity is allocated this slot next
+		frame.release(slot);
+		spareFrame.release(slot);
+		frozenChestplate[slot] = null;
+		freeSlots.add(slot);
+		if(recorder != null) {
+			recorder.free(this, slot);
+		}
+	}
+
+	/**
+	 * Queue the slot owned by the provided config to be freed the next time {@link #processReleases()} is called;
+	 * this is safe to call from any thread.
+	 */
+	public void queueRelease(EntityConfig config) {
+		if(config.getPhysicsSlot() != NO_SLOT) {
+			pendingRelease.add(config);
+		}
+	}
+
+	/**
+	 * Free all slots previously queued through {@link #queueRelease(EntityConfig)}
+	 */
+	public void processReleases() {
+		EntityConfig config;
+		while((config = pendingRelease.poll()) != null) {
+			config.releasePhysicsSlot();
+		}
+	}
+
+	private void reset(int body) {
+		bounceVelX[body] = velocityX[body] = positionX[body] = prePositionX[body] = 0;
+		bounceVel[body] = velocity[body] = positionY[body] = prePositionY[body] = 0;
+		bounceRotVel[body] = rotVelocity[body] = bounceRotation[body] = preBounceRotation[body] = 0;
+		breastSize[body] = preBreastSize[body] = 0;
+		randomB[body] = 1;
+		restTicks[body] = 0;
+	}
+
+	public PhysicsLod getLod() {
+		return lod;
+	}
+
+	/**
+	 * @return How many ticks' worth of physics have been simulated (or are currently being simulated) so far
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * @return How far along the provided body is between its previous and current state; for bodies stepped every
+	 *         tick this is simply how far into the current tick we are, but is otherwise spread across every tick
+	 *         between steps
+	 */
+	private float interpolation(PhysicsSnapshot snapshot, int body, float partialTicks) {
+		if(snapshot.ticks != ticks) {
+			// the worker thread hasn't finished the latest step yet, in which case its previous state would've been
+			// the current state of this snapshot anyway
+			return 1f;
+		}
+		int slot = body / BODIES_PER_SLOT;
+		float progress = fixedTimestep ? stepProgress : partialTicks;
+		return Math.min(1f, (snapshot.ticks - snapshot.steppedAt[slot] + progress) / snapshot.stepInterval[slot]);
+	}
+
+	/**
+	 * Derive the xorshift state for one side of a slot from the provided seed, using the SplitMix64 finalizer to
+	 * ensure that similar seeds (and both sides of the same slot) still diverge immediately
+	 */
+	private static long seed(long seed, int side) {
+		long z = seed + (side + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z ^= z >>> 31;
+		// xorshift gets stuck on a state of zero
+		return z == 0 ? 0x9E3779B97F4A7C15L : z;
+	}
+
+	long nextLong(int body) {
+		long x = random[body];
+		x ^= x << 13;
+		x ^= x >>> 7;
+		x ^= x << 17;
+		random[body] = x;
+		return x;
+	}
+
+	/**
+	 * @return A random float in the range {@code [0, 1)}
+	 */
+	private float nextFloat(int body) {
+		return (nextLong(body) >>> 40) * 0x1.0p-24F;
+	}
+
+	private boolean nextBoolean(int body) {
+		return nextLong(body) < 0;
+	}
+
+	// note that everything the renderer reads comes from the front snapshot, and never from the live state
+
+	/**
+	 * @return The most recently published snapshot, which should be used when reading multiple values at once to
+	 *         ensure that they all come from the same step
+	 */
+	public PhysicsSnapshot getSnapshot() {
+		return front;
+	}
+
+	public float getBreastSize(int body, float partialTicks) {
+		return getBreastSize(front, body, partialTicks);
+	}
+	public float getBreastSize(PhysicsSnapshot snapshot, int body, float partialTicks) {
+		return MathHelper.lerp(interpolation(snapshot, body, partialTicks), snapshot.preBreastSize[body], snapshot.breastSize[body]);
+	}
+
+	public float getPositionX(int body, float partialTicks) {
+		return getPositionX(front, body, partialTicks);
+	}
+	public float getPositionX(PhysicsSnapshot snapshot, int body, float partialTicks) {
+		return MathHelper.lerp(interpolation(snapshot, body, partialTicks), snapshot.prePositionX[body], snapshot.positionX[body]);
+	}
+
+	public float getPositionY(int body, float partialTicks) {
+		return getPositionY(front, body, partialTicks);
+	}
+	public float getPositionY(PhysicsSnapshot snapshot, int body, float partialTicks) {
+		return MathHelper.lerp(interpolation(snapshot, body, partialTicks), snapshot.prePositionY[body], snapshot.positionY[body]);
+	}
+
+	public float getBounceRotation(int body, float partialTicks) {
+		return getBounceRotation(front, body, partialTicks);
+	}
+	public float getBounceRotation(PhysicsSnapshot snapshot, int body, float partialTicks) {
+		return MathHelper.lerp(interpolation(snapshot, body, partialTicks), snapshot.preBounceRotation[body], snapshot.bounceRotation[body]);
+	}
+
+	float getPrePositionX(int body) {
+		return front.prePositionX[body];
+	}
+	float getPositionX(int body) {
+		return front.positionX[body];
+	}
+
+	float getPrePositionY(int body) {
+		return front.prePositionY[body];
+	}
+	float getPositionY(int body) {
+		return front.positionY[body];
+	}
+
+	float getPreBounceRotation(int body) {
+		return front.preBounceRotation[body];
+	}
+	float getBounceRotation(int body) {
+		return front.bounceRotation[body];
+	}
+
+	/**
+	 * Record the inputs required to simulate the provided entity this tick; the entity will then be simulated
+	 * in the next call to {@link #step()}, at the level of detail chosen by the {@link PhysicsLod}.
+	 *
+	 * <p>Entities in the {@link PhysicsLod#FROZEN frozen tier} are settled at their rest pose by the first step after
+	 * they enter it, and aren't captured again until they leave it, or their config or chestplate changes.</p>
+	 */
+	@Environment(EnvType.CLIENT)
+	public void capture(@NotNull LivingEntity entity) {
+		EntityConfig config = EntityConfig.getEntity(entity);
+		// this is used while rendering, and as such must be kept up to date regardless of how often physics are stepped
+		config.updateCanBreathe(entity);
+		int slot = config.getOrAllocatePhysicsSlot();
+		int tier = lod.tierOf(entity);
+		if(!lod.isDue(tier, slot)) {
+			return;
+		}
+		ItemStack chestplate = entity.getEquippedStack(EquipmentSlot.CHEST);
+		if(tier == PhysicsLod.FROZEN && frozenChestplate[slot] == chestplate && frozenVersion[slot] == config.getPhysicsVersion()) {
+			return;
+		}
+		if(entity instanceof ArmorStandEntity) {
+			config.readFromStack(chestplate);
+		}
+		IGenderArmor armor = config.getArmorConfig(chestplate);
+		frame.capture(slot, config, entity, armor, tier, lod.intervalOf(tier));
+		// note that this is compared by identity, as equipment changes always replace the stack outright
+		frozenChestplate[slot] = tier == PhysicsLod.FROZEN ? chestplate : null;
+		frozenVersion[slot] = config.getPhysicsVersion();
+	}
+
+	/**
+	 * Unlike {@link #capture(LivingEntity)}, this always captures the provided entity at full detail
+	 *
+	 * @see #capture(LivingEntity)
+	 */
+	@Environment(EnvType.CLIENT)
+	public void capture(@NotNull EntityConfig config, @NotNull LivingEntity entity, @NotNull IGenderArmor armor) {
+		int slot = config.getOrAllocatePhysicsSlot();
+		frame.capture(slot, config, entity, armor, PhysicsLod.NEAR, 1);
+		frozenChestplate[slot] = null;
+	}
+
+	/**
+	 * Called at the end of every client tick; this steps the world immediately, unless a fixed timestep is in use
+	 */
+	public void tick() {
+		fixedTimestep = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_FIXED_TIMESTEP);
+		maxSubsteps = GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_MAX_SUBSTEPS);
+		parallelThreshold = GlobalConfig.INSTANCE.get(GlobalConfig.PARALLEL_PHYSICS)
+				? GlobalConfig.INSTANCE.get(GlobalConfig.PARALLEL_PHYSICS_THRESHOLD) : 0;
+		threaded = GlobalConfig.INSTANCE.get(GlobalConfig.THREADED_PHYSICS);
+		PhysicsModel near = PhysicsModel.of(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_MODEL_NEAR));
+		PhysicsModel mid = PhysicsModel.of(GlobalConfig.INSTANCE.get(GlobalConfig.PHYSICS_MODEL_MID));
+		if(near != nearModel || mid != midModel) {
+			setModels(near, mid);
+		}
+		if(fixedTimestep) {
+			return;
+		}
+		// start from a clean slate if a fixed timestep is enabled again later on
+		lastAdvanceNanos = accumulatedNanos = 0;
+		dispatch(1);
+	}
+
+	/**
+	 * Called at the start of every rendered frame; when using a fixed timestep, this takes as many steps as the time
+	 * elapsed since the last frame allows, up to the configured cap
+	 */
+	public void advance() {
+		if(!fixedTimestep) {
+			return;
+		}
+		long now = System.nanoTime();
+		if(lastAdvanceNanos != 0) {
+			accumulatedNanos += now - lastAdvanceNanos;
+		}
+		lastAdvanceNanos = now;
+
+		int steps = (int) Math.min(accumulatedNanos / FIXED_STEP_NANOS, maxSubsteps);
+		if(steps > 0) {
+			accumulatedNanos -= steps * FIXED_STEP_NANOS;
+			// drop any time we couldn't catch up on instead of carrying it over, as otherwise we'd just end up
+			// running into the cap again on every frame after this one
+			accumulatedNanos = Math.min(accumulatedNanos, FIXED_STEP_NANOS - 1);
+			dispatch(steps);
+		}
+		stepProgress = (float) accumulatedNanos / FIXED_STEP_NANOS;
+	}
+
+	/**
+	 * Integrate every body captured since the last step in a single pass
+	 */
+	public void step() {
+		step(1);
+	}
+
+	/**
+	 * Integrate every body captured since the last step in a single pass on the calling thread, advancing the world by
+	 * the provided number of ticks
+	 */
+	void step(int substeps) {
+		awaitStep();
+		ticks += substeps;
+		simulate(frame, substeps, parallelThreshold);
+	}
+
+	/**
+	 * Step the world by a single tick using the inputs captured in the provided frame instead of the current one,
+	 * which allows benchmarks to prepare the inputs for several steps ahead of time
+	 */
+	void step(PhysicsFrame in) {
+		awaitStep();
+		ticks++;
+		simulate(in, 1, parallelThreshold);
+	}
+
+	/**
+	 * Step the world by the provided number of ticks, either immediately or on the worker thread if
+	 * {@link GlobalConfig#THREADED_PHYSICS threaded physics} are enabled
+	 */
+	private void dispatch(int substeps) {
+		if(!threaded) {
+			step(substeps);
+			return;
+		}
+		awaitStep();
+		ticks += substeps;
+		// hand the captured frame over to the worker, and start capturing into the spare frame in the meantime
+		PhysicsFrame captured = this.frame;
+		this.frame = this.spareFrame;
+		this.spareFrame = captured;
+		// settings are copied here, as they may be changed by the client thread while the worker is still stepping
+		int parallelThreshold = this.parallelThreshold;
+		pendingStep = CompletableFuture.runAsync(() -> simulate(captured, substeps, parallelThreshold), getWorker());
+	}
+
+	/**
+	 * Block until the step currently running on the worker thread (if any) has finished; this must be called before
+	 * anything outside of a step touches the state of this world
+	 */
+	private void awaitStep() {
+		CompletableFuture<Void> pending = this.pendingStep;
+		if(pending != null) {
+			this.pendingStep = null;
+			pending.join();
+		}
+	}
+
+	private void simulate(PhysicsFrame in, int substeps, int parallelThreshold) {
+		long start = System.nanoTime();
+		this.stepFrame = in;
+		int count = in.capturedCount;
+		if(parallelThreshold > 0 && count >= parallelThreshold) {
+			getPool().invoke(new IntegrateTask(0, count));
+		} else {
+			integrate(0, count);
+		}
+		if(checksums || recorder != null) {
+			lastChecksum = checksum();
+		}
+		if(recorder != null) {
+			recorder.step(this, in, substeps);
+		}
+		publish();
+		in.clear();
+		lastStepNanos = System.nanoTime() - start;
+	}
+
+	/**
+	 * Copy the state of every body into the back snapshot, and swap it to the front
+	 */
+	private void publish() {
+		PhysicsSnapshot snapshot = this.back;
+		int bodies = slotCount * BODIES_PER_SLOT;
+		snapshot.ticks = ticks;
+		System.arraycopy(breastSize, 0, snapshot.breastSize, 0, bodies);
+		System.arraycopy(preBreastSize, 0, snapshot.preBreastSize, 0, bodies);
+		System.arraycopy(positionX, 0, snapshot.positionX, 0, bodies);
+		System.arraycopy(prePositionX, 0, snapshot.prePositionX, 0, bodies);
+		System.arraycopy(positionY, 0, snapshot.positionY, 0, bodies);
+		System.arraycopy(prePositionY, 0, snapshot.prePositionY, 0, bodies);
+		System.arraycopy(bounceRotation, 0, snapshot.bounceRotation, 0, bodies);
+		System.arraycopy(preBounceRotation, 0, snapshot.preBounceRotation, 0, bodies);
+		System.arraycopy(steppedAt, 0, snapshot.steppedAt, 0, slotCount);
+		System.arraycopy(stepInterval, 0, snapshot.stepInterval, 0, slotCount);
+		this.back = this.front;
+		this.front = snapshot;
+	}
+
+	/**
+	 * Copy the state of a single slot into the provided snapshot
+	 */
+	private void publish(int slot, PhysicsSnapshot snapshot) {
+		for(int side = LEFT; side <= RIGHT; side++) {
+			int body = body(slot, side);
+			snapshot.breastSize[body] = breastSize[body];
+			snapshot.preBreastSize[body] = preBreastSize[body];
+			snapshot.positionX[body] = positionX[body];
+			snapshot.prePositionX[body] = prePositionX[body];
+			snapshot.positionY[body] = positionY[body];
+			snapshot.prePositionY[body] = prePositionY[body];
+			snapshot.bounceRotation[body] = bounceRotation[body];
+			snapshot.preBounceRotation[body] = preBounceRotation[body];
+		}
+		snapshot.steppedAt[slot] = steppedAt[slot];
+		snapshot.stepInterval[slot] = stepInterval[slot];
+	}
+
+	/**
+	 * Integrate the captured slots in the range {@code [from, to)}
+	 */
+	private void integrate(int from, int to) {
+		final PhysicsFrame in = this.stepFrame;
+		final BodyRandom random = new BodyRandom(this);
+		int[] slots = in.capturedSlots;
+		// bodies simulated at full detail are queued from the start of the range, and mid-range bodies from the end
+		final int springStart = from * BODIES_PER_SLOT, springEnd = to * BODIES_PER_SLOT;
+		int near = springStart, mid = springEnd, mirrors = from;
+		for(int i = from; i < to; i++) {
+			int slot = slots[i];
+			int left = body(slot, LEFT), right = body(slot, RIGHT);
+
+			// always suppress the full physics calculations on armor stands
+			if(in.armorStand[slot]) {
+				float size = in.targetBreastSize[slot];
+				this.preBreastSize[left] = this.breastSize[left] = size;
+				this.preBreastSize[right] = this.breastSize[right] = size;
+			} else {
+				storePrevious(left);
+				storePrevious(right);
+				boolean moved = prepare(slot);
+				if(in.tier[slot] == PhysicsLod.FROZEN) {
+					// frozen slots aren't captured again while they stay frozen, so these must be settled right away,
+					// even if this is the first time they're stepped
+					settle(left, slot);
+					settle(right, slot);
+				} else if(moved) {
+					int elapsed = MathHelper.clamp(ticks - steppedAt[slot], 1, MAX_CATCH_UP_TICKS);
+					boolean midTier = in.tier[slot] == PhysicsLod.MID;
+					if(update(left, slot, elapsed, random)) {
+						if(midTier) springQueue[--mid] = left;
+						else springQueue[near++] = left;
+					}
+					if(in.uniboob[slot]) {
+						// both sides are rendered from the left side, so there's no point in simulating the right
+						// side separately
+						mirrorQueue[mirrors++] = slot;
+					} else if(update(right, slot, elapsed, random)) {
+						if(midTier) springQueue[--mid] = right;
+						else springQueue[near++] = right;
+					}
+				}
+			}
+
+			steppedAt[slot] = ticks;
+			stepInterval[slot] = in.interval[slot];
+		}
+
+		nearModel.solve(this, springQueue, springStart, near);
+		midModel.solve(this, springQueue, mid, springEnd);
+		for(int i = from; i < mirrors; i++) {
+			int slot = mirrorQueue[i];
+			mirror(body(slot, LEFT), body(slot, RIGHT));
+		}
+	}
+
+	private void storePrevious(int body) {
+		this.prePositionY[body] = this.positionY[body];
+		this.prePositionX[body] = this.positionX[body];
+		this.preBounceRotation[body] = this.bounceRotation[body];
+		this.preBreastSize[body] = this.breastSize[body];
+	}
+
+	/**
+	 * Compute every value derived from the inputs of the provided slot which is shared between both of its bodies
+	 *
+	 * @return {@code false} if this is the first time this slot was stepped, and as such has no previous position
+	 *         to derive its motion from
+	 */
+	private boolean prepare(int slot) {
+		final PhysicsFrame in = this.stepFrame;
+		double x = in.positionX[slot], y = in.positionY[slot], z = in.positionZ[slot];
+		int age = in.age[slot];
+		if(!this.hasPrePos[slot]) {
+			this.prePosX[slot] = x;
+			this.prePosY[slot] = y;
+			this.prePosZ[slot] = z;
+			this.hasPrePos[slot] = true;
+			this.lastAge[slot] = age;
+			return false;
+		}
+
+		double motionX = x - this.prePosX[slot];
+		double motionY = y - this.prePosY[slot];
+		double motionZ = z - this.prePosZ[slot];
+		this.prePosX[slot] = x;
+		this.prePosY[slot] = y;
+		this.prePosZ[slot] = z;
+
+		// the entity may have moved across several ticks since it was last captured, in which case use the
+		// average motion across all of them
+		int movedTicks = age - this.lastAge[slot];
+		this.lastAge[slot] = age;
+		if(movedTicks > 1) {
+			double scale = 1.0 / movedTicks;
+			motionX *= scale;
+			motionY *= scale;
+			motionZ *= scale;
+		}
+
+		in.motionY[slot] = (float) motionY;
+
+		float f2 = (float) in.velocityLengthSquared[slot] / 0.2F;
+		f2 = f2 * f2 * f2;
+		if(f2 < 1.0F) f2 = 1.0F;
+		in.restingBounceY[slot] = in.breastWeight[slot]
+				+ MathHelper.cos(in.limbPos[slot] * 0.6662F + (float)Math.PI) * 0.5F * in.limbSpeed[slot] * 0.5F / f2;
+
+		EntityPose pose = in.pose[slot];
+		EntityPose lastPose = this.lastPose[slot];
+		double vertVelocity = in.velocityY[slot];
+		double lastVertVelocity = this.lastVerticalMoveVelocity[slot];
+
+		in.inputsIdle[slot] = motionX * motionX + motionY * motionY + motionZ * motionZ < REST_EPSILON * REST_EPSILON
+				&& Math.abs(in.yawDelta[slot]) < REST_EPSILON
+				&& in.limbSpeed[slot] < REST_EPSILON
+				&& vertVelocity == lastVertVelocity
+				&& pose == lastPose
+				&& !in.handSwinging[slot]
+				// vehicles apply their own bounces regardless of how the rider is moving
+				&& in.vehicleProfile[slot] == null;
+
+		// Randomize which side the breast will angle toward when the player jumps/has upward velocity applied to them,
+		// or stops falling
+		in.verticalFlip[slot] = (lastVertVelocity <= 0 && vertVelocity > 0) || (lastVertVelocity < 0 && vertVelocity == 0);
+		this.lastVerticalMoveVelocity[slot] = vertVelocity;
+
+		int poseChange = PhysicsFrame.POSE_UNCHANGED;
+		if(pose != lastPose) {
+			if(pose == EntityPose.CROUCHING || lastPose == EntityPose.CROUCHING) {
+				poseChange = PhysicsFrame.POSE_CROUCHED;
+			} else if(pose == EntityPose.SLEEPING || lastPose == EntityPose.SLEEPING) {
+				poseChange = PhysicsFrame.POSE_SLEPT;
+			}
+			this.lastPose[slot] = pose;
+		}
+		in.poseChange[slot] = poseChange;
+
+		prepareSwing(slot, pose);
+		return true;
+	}
+
+	private void prepareSwing(int slot, EntityPose pose) {
+		final PhysicsFrame in = this.stepFrame;
+		int swingDuration = in.swingDuration[slot];
+		boolean handSwinging = in.handSwinging[slot];
+		int lastSwingDuration = this.lastSwingDuration[slot];
+		int lastSwingTick = this.lastSwingTick[slot];
+
+		in.swingBounce[slot] = false;
+		in.swingAmplifier[slot] = 0f;
+		in.swingRotation[slot] = 0f;
+		// Require that either the current swing duration is 2 ticks, or the swing duration from the previous tick is,
+		// as any faster and the arm effectively doesn't swing at all; we check the previous tick's swing duration for
+		// reasons explained later on in this block
+		if((swingDuration > 1 || lastSwingDuration > 1) && pose != EntityPose.SLEEPING) {
+
+			float amplifier = 0f;
+			if(swingDuration < 6) {
+				amplifier = 0.15f * (6 - swingDuration);
+			} else if(swingDuration > 6) {
+				amplifier = -0.067f * (swingDuration - 6);
+			}
+			// Cap our amplifier at the swing durations of Mining Fatigue III/Haste II
+			amplifier = MathHelper.clamp(1 + amplifier, 0.6f, 1.3f);
+
+			// consistently apply even with short swing durations, such as with haste
+			int everyNthTick = MathHelper.clamp(swingDuration - 1, 1, 5);
+			if(handSwinging && in.age[slot] % everyNthTick == 0) {
+				float hasteMult = MathHelper.clamp(everyNthTick / 5f, 0.4f, 1f);
+				in.swingBounce[slot] = true;
+				in.swingAmplifier[slot] = amplifier * hasteMult;
+			}
+
+			int swingTickDelta = in.handSwingTicks[slot] - lastSwingTick;
+			float swingProgress = BreastPhysics.distanceFromMedian(0, lastSwingDuration, MathHelper.clamp(lastSwingTick, 0, lastSwingDuration));
+			boolean swingingArmRight = in.swingingArmRight[slot];
+
+			if(swingTickDelta < 0 && lastSwingTick != lastSwingDuration - 1) {
+				// Add a bit of counter-rotation back toward the currently swinging arm if the previous arm swing
+				// animation is interrupted
+				// Note that we don't check if the player's arm is currently swinging here to account for cases like
+				// haste being used to reset a player's swing; one notable example of this is Wynncraft's spell casting,
+				// which applies haste to the player when a spell is successfully cast.
+				in.swingRotation[slot] = (swingingArmRight ? -2.5f : 2.5f) * Math.abs(swingProgress);
+			} else if(handSwinging && swingDuration > 1) {
+				// Otherwise if the swing animation isn't interrupted, attempt to rotate slightly counter to the
+				// direction that the body is currently moving
+				boolean swingingTowardRight = swingProgress > 0f ? !swingingArmRight : swingingArmRight;
+				in.swingRotation[slot] = (swingingTowardRight ? -0.2f : 0.2f) * amplifier;
+			}
+			this.lastSwingTick[slot] = in.handSwingTicks[slot];
+		}
+		if(!handSwinging) {
+			this.lastSwingTick[slot] = 0;
+		}
+		this.lastSwingDuration[slot] = Math.max(swingDuration, 1);
+	}
+
+	private ForkJoinPool getPool() {
+		if(pool == null) {
+			// leave a core free for the client thread, which is blocked on this pool while it's in use anyway
+			int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+				thread.setName("Wildfire Gender Physics-" + thread.getPoolIndex());
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return pool;
+	}
+
+	private ExecutorService getWorker() {
+		if(worker == null) {
+			worker = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Wildfire Gender Physics Worker");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return worker;
+	}
+
+	/**
+	 * Recursively splits a range of captured slots in half until each half is small enough to integrate directly
+	 */
+	private final class IntegrateTask extends RecursiveAction {
+		private final int from, to;
+
+		private IntegrateTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= SLOTS_PER_TASK) {
+				integrate(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new IntegrateTask(from, middle), new IntegrateTask(middle, to));
+		}
+	}
+
+	/**
+	 * Set the number of captured entities at which integration is split across the fork-join pool, overriding the
+	 * configured value until the next {@link #tick()}; a value of {@code 0} disables parallel integration
+	 */
+	void setParallelThreshold(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Set the models used to solve the springs of bodies in the near and mid-range LOD tiers respectively
+	 */
+	void setModels(PhysicsModel nearModel, PhysicsModel midModel) {
+		awaitStep();
+		this.nearModel = nearModel;
+		this.midModel = midModel;
+		if(recorder != null) {
+			recorder.models(this);
+		}
+	}
+
+	PhysicsModel getNearModel() {
+		return nearModel;
+	}
+
+	PhysicsModel getMidModel() {
+		return midModel;
+	}
+
+	/**
+	 * @return The frame that entities are currently capturing into
+	 */
+	PhysicsFrame getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Start recording every step into the provided recorder, replacing any recorder that was previously in use
+	 */
+	public void startRecording(@NotNull PhysicsTraceRecorder recorder) throws IOException {
+		stopRecording();
+		awaitStep();
+		recorder.begin(this);
+		this.recorder = recorder;
+	}
+
+	public void stopRecording() {
+		awaitStep();
+		if(this.recorder != null) {
+			this.recorder.close();
+			this.recorder = null;
+		}
+	}
+
+	/**
+	 * Always compute a {@link #getLastChecksum() checksum} after stepping, even if no recorder is in use
+	 */
+	void setChecksumsEnabled(boolean checksums) {
+		awaitStep();
+		this.checksums = checksums;
+	}
+
+	long getLastChecksum() {
+		return lastChecksum;
+	}
+
+	/**
+	 * @return A hash of the state of every body captured in the current step, used to verify that replaying a trace
+	 *         produces identical output
+	 */
+	private long checksum() {
+		long hash = 1;
+		for(int i = 0; i < stepFrame.capturedCount; i++) {
+			int slot = stepFrame.capturedSlots[i];
+			for(int side = LEFT; side <= RIGHT; side++) {
+				int body = body(slot, side);
+				hash = 31 * hash + Float.floatToRawIntBits(positionX[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(positionY[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(bounceRotation[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(breastSize[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(bounceVelX[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(velocityX[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(bounceVel[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(velocity[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(bounceRotVel[body]);
+				hash = 31 * hash + Float.floatToRawIntBits(rotVelocity[body]);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Write the entire state of this world, in a format readable by {@link #readSnapshot}
+	 */
+	void writeSnapshot(DataOutput out) throws IOException {
+		awaitStep();
+		out.writeInt(ticks);
+		out.writeInt(slotCount);
+		out.writeInt(freeSlots.size());
+		for(int i = 0; i < freeSlots.size(); i++) {
+			out.writeInt(freeSlots.getInt(i));
+		}
+		for(int slot = 0; slot < slotCount; slot++) {
+			out.writeDouble(prePosX[slot]);
+			out.writeDouble(prePosY[slot]);
+			out.writeDouble(prePosZ[slot]);
+			out.writeBoolean(hasPrePos[slot]);
+			out.writeInt(lastAge[slot]);
+			out.writeByte(lastPose[slot] == null ? -1 : lastPose[slot].ordinal());
+			out.writeInt(lastSwingDuration[slot]);
+			out.writeInt(lastSwingTick[slot]);
+			out.writeDouble(lastVerticalMoveVelocity[slot]);
+			out.writeInt(steppedAt[slot]);
+			out.writeInt(stepInterval[slot]);
+			for(int side = LEFT; side <= RIGHT; side++) {
+				int body = body(slot, side);
+				out.writeFloat(bounceVelX[body]);
+				out.writeFloat(velocityX[body]);
+				out.writeFloat(positionX[body]);
+				out.writeFloat(prePositionX[body]);
+				out.writeFloat(bounceVel[body]);
+				out.writeFloat(velocity[body]);
+				out.writeFloat(positionY[body]);
+				out.writeFloat(prePositionY[body]);
+				out.writeFloat(bounceRotVel[body]);
+				out.writeFloat(rotVelocity[body]);
+				out.writeFloat(bounceRotation[body]);
+				out.writeFloat(preBounceRotation[body]);
+				out.writeFloat(breastSize[body]);
+				out.writeFloat(preBreastSize[body]);
+				out.writeInt(randomB[body]);
+				out.writeLong(random[body]);
+				out.writeInt(restTicks[body]);
+			}
+		}
+	}
+
+	/**
+	 * Replace the entire state of this world with a snapshot previously written by {@link #writeSnapshot}
+	 */
+	void readSnapshot(DataInput in) throws IOException {
+		awaitStep();
+		ticks = in.readInt();
+		int slots = in.readInt();
+		int capacity = slotCapacity;
+		while(capacity < slots) {
+			capacity *= 2;
+		}
+		if(capacity != slotCapacity) {
+			grow(capacity);
+		}
+		slotCount = slots;
+		freeSlots.clear();
+		int free = in.readInt();
+		for(int i = 0; i < free; i++) {
+			freeSlots.add(in.readInt());
+		}
+		for(int slot = 0; slot < slotCount; slot++) {
+			prePosX[slot] = in.readDouble();
+			prePosY[slot] = in.readDouble();
+			prePosZ[slot] = in.readDouble();
+			hasPrePos[slot] = in.readBoolean();
+			lastAge[slot] = in.readInt();
+			int pose = in.readByte();
+			lastPose[slot] = pose == -1 ? null : PhysicsFrame.POSES[pose];
+			lastSwingDuration[slot] = in.readInt();
+			lastSwingTick[slot] = in.readInt();
+			lastVerticalMoveVelocity[slot] = in.readDouble();
+			steppedAt[slot] = in.readInt();
+			stepInterval[slot] = in.readInt();
+			for(int side = LEFT; side <= RIGHT; side++) {
+				int body = body(slot, side);
+				bounceVelX[body] = in.readFloat();
+				velocityX[body] = in.readFloat();
+				positionX[body] = in.readFloat();
+				prePositionX[body] = in.readFloat();
+				bounceVel[body] = in.readFloat();
+				velocity[body] = in.readFloat();
+				positionY[body] = in.readFloat();
+				prePositionY[body] = in.readFloat();
+				bounceRotVel[body] = in.readFloat();
+				rotVelocity[body] = in.readFloat();
+				bounceRotation[body] = in.readFloat();
+				preBounceRotation[body] = in.readFloat();
+				breastSize[body] = in.readFloat();
+				preBreastSize[body] = in.readFloat();
+				randomB[body] = in.readInt();
+				random[body] = in.readLong();
+				restTicks[body] = in.readInt();
+			}
+		}
+		// make the new state visible in both snapshots
+		publish();
+		publish();
+	}
+
+	/**
+	 * @return How long the last call to {@link #step()} took, in nanoseconds
+	 */
+	public long getLastStepNanos() {
+		return lastStepNanos;
+	}
+
+	/**
+	 * Compute the spring targets of the provided body for this step
+	 *
+	 * @param elapsed How many ticks have passed since the provided body was last updated
+	 * @param random  A random source that may be pointed at any body
+	 * @return {@code false} if the body is asleep, and its springs shouldn't be run
+	 */
+	private boolean update(int body, int slot, int elapsed, BodyRandom random) {
+		final PhysicsFrame in = this.stepFrame;
+
+		final float breastWeight = in.breastWeight[slot];
+		final float targetBreastSize = in.targetBreastSize[slot];
+
+		float size = this.breastSize[body];
+		size += (size < targetBreastSize) ? Math.abs(size - targetBreastSize) / 2f : -Math.abs(size - targetBreastSize) / 2f;
+		this.breastSize[body] = size;
+
+		// bodies that have been at rest for long enough are put to sleep, and simply keep their current state
+		// (which the previous state was already updated to match above) until any of their inputs change
+		if(isAtRest(body, slot)) {
+			if(this.restTicks[body] >= TICKS_UNTIL_SLEEP) {
+				return false;
+			}
+			this.restTicks[body]++;
+		} else {
+			this.restTicks[body] = 0;
+		}
+
+		float bounceIntensity = in.bounceIntensity[slot];
+		if(!in.uniboob[slot]) {
+			// note that this intentionally matches the range of WildfireHelper#randFloat(0.5f, 1.5f), which this
+			// previously used, and is actually [0.5, 2.5)
+			bounceIntensity = bounceIntensity * (0.5f + nextFloat(body) * 2f);
+		}
+
+		if(in.verticalFlip[slot]) {
+			this.randomB[body] = nextBoolean(body) ? -1 : 1;
+		}
+
+		float motionY = in.motionY[slot];
+		float targetBounceY = motionY * bounceIntensity;
+		targetBounceY += in.restingBounceY[slot];
+
+		float rotation = -(in.yawDelta[slot] / 15f) * bounceIntensity;
+		float targetRotVel = rotation;
+		targetRotVel += motionY * bounceIntensity * this.randomB[body];
+
+		float targetBounceX = -rotation / 10f;
+
+		switch(in.poseChange[slot]) {
+			case PhysicsFrame.POSE_CROUCHED -> targetBounceY += bounceIntensity;
+			case PhysicsFrame.POSE_SLEPT -> targetBounceY = bounceIntensity;
+			default -> {}
+		}
+
+		//button option for extra entities
+		VehicleMotionProfile vehicleProfile = in.vehicleProfile[slot];
+		if(vehicleProfile != null) {
+			random.setBody(body);
+			targetBounceY = vehicleProfile.applyBounce(targetBounceY, in.vehicleSample[slot], in.vehicleAge[slot],
+					bounceIntensity, breastWeight, random);
+		}
+
+		if(in.swingBounce[slot]) {
+			targetBounceY += (nextBoolean(body) ? -0.25f : 0.25f) * in.swingAmplifier[slot] * bounceIntensity;
+			targetBounceX = (0.5f * bounceIntensity) * (in.mainArmRight[slot] ? 1f : -1f);
+		}
+		targetRotVel += in.swingRotation[slot] * bounceIntensity;
+
+		//if(plr.isInWater()) delta = 0.75f - (1f * bounceAmount); //water resistance
+
+		targetRotVel = MathHelper.clamp(targetRotVel, -25f, 25f);
+
+		this.springTargetX[body] = targetBounceX;
+		this.springTargetY[body] = targetBounceY;
+		this.springTargetRot[body] = targetRotVel;
+		this.springAmount[body] = in.bounceAmount[slot];
+		this.springPercent[body] = in.floppiness[slot];
+		this.springSteps[body] = elapsed;
+		return true;
+	}
+
+	/**
+	 * Run the springs of the provided body towards the targets computed by {@link #update}
+	 *
+	 * @implNote Any change to this must be mirrored in {@code VectorSpringKernel}, which is expected to produce
+	 *           exactly the same output.
+	 */
+	void spring(int body) {
+		final float targetBounceX = this.springTargetX[body];
+		final float targetBounceY = this.springTargetY[body];
+		final float targetRotVel = this.springTargetRot[body];
+		final float bounceAmount = this.springAmount[body];
+		final float percent = this.springPercent[body];
+		final float delta = 2.25f - bounceAmount;
+
+		// the springs aren't stable with a larger time step, so instead run them once for every tick that's
+		// passed since this body was last updated
+		for(int i = 0; i < this.springSteps[body]; i++) {
+			float bounceVel = this.bounceVel[body];
+			float springTargetY = softTargetY(targetBounceY, bounceVel);
+
+			this.velocity[body] = MathHelper.lerp(bounceAmount, this.velocity[body], (springTargetY - bounceVel) * delta);
+			this.bounceVel[body] += this.velocity[body] * percent * 1.1625f;
+
+			//X
+			this.velocityX[body] = MathHelper.lerp(bounceAmount, this.velocityX[body], (targetBounceX - this.bounceVelX[body]) * delta);
+			this.bounceVelX[body] += this.velocityX[body] * percent;
+
+			this.rotVelocity[body] = MathHelper.lerp(bounceAmount, this.rotVelocity[body], (targetRotVel - this.bounceRotVel[body]) * delta);
+			this.bounceRotVel[body] += this.rotVelocity[body] * percent;
+
+			applySpringPosition(body);
+		}
+	}
+
+	/**
+	 * @return Where the vertical spring should pull towards, pushing back as the body nears either end of its range
+	 */
+	static float softTargetY(float targetBounceY, float bounceVel) {
+		float distanceFromMin = Math.abs(bounceVel + 1.5f) * 0.5f;
+		float distanceFromMax = Math.abs(bounceVel - 2.65f) * 0.5f;
+
+		float springTargetY = targetBounceY;
+		if(bounceVel < -0.5f) {
+			springTargetY += distanceFromMin;
+		}
+		if(bounceVel > 2.5f) {
+			springTargetY -= distanceFromMax;
+		}
+
+		return MathHelper.clamp(springTargetY, -1.5f, 2.5f);
+	}
+
+	/**
+	 * Derive the rendered position of the provided body from the current state of its springs, stopping it dead if it
+	 * hits the top of its range
+	 */
+	void applySpringPosition(int body) {
+		this.bounceRotation[body] = this.bounceRotVel[body];
+		this.positionX[body] = this.bounceVelX[body];
+		this.positionY[body] = this.bounceVel[body];
+
+		if(this.positionY[body] < -0.5f) this.positionY[body] = -0.5f;
+		if(this.positionY[body] > 1.5f) {
+			this.positionY[body] = 1.5f;
+			this.velocity[body] = 0;
+		}
+	}
+
+	/**
+	 * @return {@code true} if nothing is currently moving the provided body, and its springs have settled
+	 */
+	private boolean isAtRest(int body, int slot) {
+		final PhysicsFrame in = this.stepFrame;
+		return in.inputsIdle[slot]
+				&& Math.abs(this.breastSize[body] - in.targetBreastSize[slot]) < REST_EPSILON
+				&& Math.abs(this.velocity[body]) < REST_EPSILON
+				&& Math.abs(this.velocityX[body]) < REST_EPSILON
+				&& Math.abs(this.rotVelocity[body]) < REST_EPSILON;
+	}
+
+	/**
+	 * Hold the provided body at its rest pose, as if every spring had come to a complete stop while standing still
+	 */
+	private void settle(int body, int slot) {
+		final PhysicsFrame in = this.stepFrame;
+		float restY = MathHelper.clamp(in.breastWeight[slot], -1.5f, 2.5f);
+
+		this.velocity[body] = this.velocityX[body] = this.rotVelocity[body] = 0;
+		this.bounceVel[body] = restY;
+		this.bounceVelX[body] = this.bounceRotVel[body] = 0;
+
+		this.preBreastSize[body] = this.breastSize[body] = in.targetBreastSize[slot];
+		this.prePositionY[body] = this.positionY[body] = MathHelper.clamp(restY, -0.5f, 1.5f);
+		this.prePositionX[body] = this.positionX[body] = 0;
+		this.preBounceRotation[body] = this.bounceRotation[body] = 0;
+	}
+
+	/**
+	 * Copy the entire state of one body onto another
+	 */
+	private void mirror(int from, int to) {
+		this.bounceVelX[to] = this.bounceVelX[from];
+		this.velocityX[to] = this.velocityX[from];
+		this.positionX[to] = this.positionX[from];
+		this.prePositionX[to] = this.prePositionX[from];
+		this.bounceVel[to] = this.bounceVel[from];
+		this.velocity[to] = this.velocity[from];
+		this.positionY[to] = this.positionY[from];
+		this.prePositionY[to] = this.prePositionY[from];
+		this.bounceRotVel[to] = this.bounceRotVel[from];
+		this.rotVelocity[to] = this.rotVelocity[from];
+		this.bounceRotation[to] = this.bounceRotation[from];
+		this.preBounceRotation[to] = this.preBounceRotation[from];
+		this.breastSize[to] = this.breastSize[from];
+		this.preBreastSize[to] = this.preBreastSize[from];
+		this.randomB[to] = this.randomB[from];
+		this.restTicks[to] = this.restTicks[from];
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An implementation of the default {@link PhysicsModel#SPRING spring model}; this only exists to choose between the
+ * scalar and vectorized implementations at startup.
+ *
+ * <p>The vectorized kernel ({@code VectorSpringKernel}) lives in its own {@code src/vector} source set, as it's
+ * compiled against the incubating {@code jdk.incubator.vector} module. It's opt-in, and only used if the game is
+ * launched with both {@code --add-modules=jdk.incubator.vector} and {@code -Dwildfire_gender.vectorPhysics=true};
+ * {@link PhysicsTraceReplayer} can check that it matches the scalar kernel against a recorded trace.</p>
+ *
+ * @see PhysicsWorld#spring(int)
+ */
+interface SpringKernel extends PhysicsModel {
+	// set to true to use the vectorized kernel when the Vector API is available
+	String VECTORIZE_PROPERTY = "wildfire_gender.vectorPhysics";
+
+	SpringKernel SCALAR = (world, bodies, from, to) -> {
+		for(int i = from; i < to; i++) {
+			world.spring(bodies[i]);
+		}
+	};
+
+	/**
+	 * @return The vectorized kernel if it was {@link #VECTORIZE_PROPERTY enabled}; otherwise, the
+	 *         {@link #SCALAR scalar} kernel
+	 *
+	 * @see #vectorized()
+	 */
+	static SpringKernel select() {
+		if(!Boolean.getBoolean(VECTORIZE_PROPERTY)) {
+			return SCALAR;
+		}
+		SpringKernel vectorized = vectorized();
+		return vectorized != null ? vectorized : SCALAR;
+	}
+
+	/**
+	 * @return The vectorized kernel if the {@code jdk.incubator.vector} module was enabled at startup (with
+	 *         {@code --add-modules jdk.incubator.vector}), and the current CPU can process several bodies at once;
+	 *         otherwise, {@code null}
+	 */
+	static @Nullable SpringKernel vectorized() {
+		if(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return null;
+		}
+		try {
+			// loaded reflectively, as the kernel isn't part of the main source set
+			Class<?> kernel = Class.forName("com.wildfire.physics.VectorSpringKernel");
+			if((boolean) kernel.getDeclaredMethod("isSupported").invoke(null)) {
+				return (SpringKernel) kernel.getDeclaredConstructor().newInstance();
+			}
+		} catch(ReflectiveOperationException | LinkageError ignored) {
+		}
+		return null;
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wildfire.physics;
+
+import com.wildfire.api.VehicleMotionProfile;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.passive.*;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.entity.vehicle.MinecartEntity;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Registry of {@link VehicleMotionProfile vehicle motion profiles}, along with the built-in profiles for vanilla
+ * vehicles
+ */
+@ApiStatus.Internal
+public final class VehicleMotionProfiles {
+
+	private VehicleMotionProfiles() {
+		throw new UnsupportedOperationException();
+	}
+
+	// both explicitly registered profiles, and profiles resolved from an entity's class the first time an entity type
+	// is ridden; explicit registrations always replace anything previously resolved
+	private static final Map<EntityType<?>, VehicleMotionProfile> PROFILES = new ConcurrentHashMap<>();
+
+	public static final VehicleMotionProfile BOAT = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			BoatEntity boat = (BoatEntity) vehicle;
+			int rowTime = (int) boat.lerpPaddlePhase(0, rider.limbAnimator.getPos());
+			int rowTime2 = (int) boat.lerpPaddlePhase(1, rider.limbAnimator.getPos());
+
+			float rotationL = (float) MathHelper.clampedLerp(-(float)Math.PI / 3F, -0.2617994F, (double) ((MathHelper.sin(-rowTime2) + 1.0F) / 2.0F));
+			float rotationR = (float) MathHelper.clampedLerp(-(float)Math.PI / 4F, (float)Math.PI / 4F, (double) ((MathHelper.sin(-rowTime + 1.0F) + 1.0F) / 2.0F));
+			return rotationL < -1 || rotationR < -0.6f ? 1f : 0f;
+		}
+
+		@Override
+		public boolean usesVehicleYaw(LivingEntity rider, Entity vehicle) {
+			// boats will typically be caught by the #hasControllingPassenger() check, but still special case these
+			// to catch any weird modded cases that might arise
+			return true;
+		}
+
+		@Override
+		public float applyBounce(float targetBounceY, float rowing, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+			return rowing != 0 ? bounceIntensity / 3.25f : targetBounceY;
+		}
+	};
+
+	public static final VehicleMotionProfile MINECART = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			return (float) vehicle.getVelocity().lengthSquared();
+		}
+
+		@Override
+		public float applyBounce(float targetBounceY, float speed, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+			if(random.nextFloat() * speed < 0.5f && speed > 0.2f) {
+				return (random.nextBoolean() ? -bounceIntensity : bounceIntensity) / 6f + breastWeight;
+			}
+			return targetBounceY;
+		}
+	};
+
+	public static final VehicleMotionProfile HORSE = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			return (float) vehicle.getVelocity().lengthSquared();
+		}
+
+		@Override
+		public boolean suppressesRotation(LivingEntity rider, Entity vehicle) {
+			// unsaddled horses (and llamas, which also extend AbstractDonkeyEntity?) break rotation physics, despite
+			// acting similarly to other entities where the rider's body yaw is allowed to (somewhat) freely move around;
+			// camels also suffer from largely the same issue when sitting or standing up
+			return !((AbstractHorseEntity) vehicle).isSaddled() || vehicle instanceof CamelEntity camel && camel.isStationary();
+		}
+
+		@Override
+		public float applyBounce(float targetBounceY, float movement, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+			if(vehicleAge % clampMovement(movement) == 5 && movement > 0.05f) {
+				return bounceIntensity / 4f + breastWeight;
+			}
+			return targetBounceY;
+		}
+	};
+
+	public static final VehicleMotionProfile PIG = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			return (float) vehicle.getVelocity().lengthSquared();
+		}
+
+		@Override
+		public float applyBounce(float targetBounceY, float movement, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+			if(vehicleAge % clampMovement(movement) == 5 && movement > 0.002f) {
+				return (bounceIntensity * MathHelper.clamp(movement * 75, 0.1f, 1f)) / 4f + breastWeight;
+			}
+			return targetBounceY;
+		}
+	};
+
+	public static final VehicleMotionProfile STRIDER = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			StriderEntity strider = (StriderEntity) vehicle;
+			return (float) ((double)strider.getHeight() - 0.19
+					+ (double)(0.12F * MathHelper.cos(strider.limbAnimator.getPos() * 1.5f)
+					* 2F * Math.min(0.25F, strider.limbAnimator.getSpeed())));
+		}
+
+		@Override
+		public float applyBounce(float targetBounceY, float heightOffset, int vehicleAge, float bounceIntensity, float breastWeight, RandomGenerator random) {
+			return targetBounceY + ((heightOffset * 3f) - 4.5f) * bounceIntensity;
+		}
+	};
+
+	// while you aren't able to normally ride chickens in vanilla, it is still possible through means like /ride, and
+	// as chickens attempt to force the rider's body yaw to the same yaw as the chicken (which is likely intended only
+	// for baby zombies), this results in unintended behavior with rotation physics
+	public static final VehicleMotionProfile CHICKEN = new VehicleMotionProfile() {
+		@Override
+		public float sample(LivingEntity rider, Entity vehicle) {
+			return 0f;
+		}
+
+		@Override
+		public boolean suppressesRotation(LivingEntity rider, Entity vehicle) {
+			return true;
+		}
+	};
+
+	// used to identify built-in profiles in physics traces; only ever append to this
+	private static final List<VehicleMotionProfile> BUILT_IN = List.of(VehicleMotionProfile.DEFAULT, BOAT, MINECART,
+			HORSE, PIG, STRIDER, CHICKEN);
+	static final int NO_VEHICLE = -1;
+
+	/**
+	 * @return An ID identifying the provided profile in physics traces; profiles registered by other mods can't be
+	 *         identified, and are treated as {@link VehicleMotionProfile#DEFAULT} instead
+	 */
+	static int idOf(@Nullable VehicleMotionProfile profile) {
+		if(profile == null) return NO_VEHICLE;
+		int id = BUILT_IN.indexOf(profile);
+		return id == -1 ? 0 : id;
+	}
+
+	static @Nullable VehicleMotionProfile byId(int id) {
+		return id == NO_VEHICLE ? null : BUILT_IN.get(id);
+	}
+
+	/**
+	 * @see com.wildfire.api.WildfireAPI#registerVehicleMotionProfile
+	 */
+	public static void register(@NotNull EntityType<?> type, @NotNull VehicleMotionProfile profile) {
+		PROFILES.put(type, profile);
+	}
+
+	/**
+	 * @return The profile for the type of the provided vehicle, falling back to the closest built-in profile
+	 *         if none is registered
+	 */
+	public static @NotNull VehicleMotionProfile resolve(@NotNull Entity vehicle) {
+		VehicleMotionProfile profile = PROFILES.get(vehicle.getType());
+		if(profile == null) {
+			profile = fromClass(vehicle);
+			PROFILES.putIfAbsent(vehicle.getType(), profile);
+		}
+		return profile;
+	}
+
+	private static VehicleMotionProfile fromClass(Entity vehicle) {
+		if(vehicle instanceof BoatEntity) return BOAT;
+		if(vehicle instanceof MinecartEntity) return MINECART;
+		if(vehicle instanceof AbstractHorseEntity) return HORSE;
+		if(vehicle instanceof PigEntity) return PIG;
+		if(vehicle instanceof StriderEntity) return STRIDER;
+		if(vehicle instanceof ChickenEntity) return CHICKEN;
+		return VehicleMotionProfile.DEFAULT;
+	}
+
+	private static int clampMovement(float movement) {
+		return Math.max((int) (10 - movement*2f), 1);
+	}
+}
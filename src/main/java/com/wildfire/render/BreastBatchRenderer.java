@@ -0,0 +1,126 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.render;
+
+import com.wildfire.main.config.GlobalConfig;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.util.math.MatrixStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Collects breast geometry from every entity rendered in the world over the course of a frame, and submits it
+ * grouped by render layer once all entities have been rendered, instead of switching buffers for each entity.</p>
+ *
+ * <p>This is only used with {@link GlobalConfig#BATCHED_BREAST_RENDERING}, and only for geometry that would've been
+ * written to the world's own entity buffers; anything else (such as entities rendered in menus, or with an outline)
+ * is still rendered immediately.</p>
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class BreastBatchRenderer {
+
+	public static final BreastBatchRenderer INSTANCE = new BreastBatchRenderer();
+
+	private final Map<RenderLayer, List<Draw>> batches = new LinkedHashMap<>();
+	// draws are reused across frames, to avoid copying every entity's transforms into new matrices each frame
+	private final List<Draw> pool = new ArrayList<>();
+	private int used;
+	private @Nullable VertexConsumerProvider consumers;
+
+	private BreastBatchRenderer() {
+	}
+
+	/**
+	 * Start collecting geometry that would otherwise have been written to the provided consumers
+	 */
+	public void begin(@Nullable VertexConsumerProvider consumers) {
+		this.consumers = GlobalConfig.INSTANCE.get(GlobalConfig.BATCHED_BREAST_RENDERING) ? consumers : null;
+		reset();
+	}
+
+	/**
+	 * @return {@code true} if geometry written to the given provider should instead be {@link #add added} to the
+	 *         current batch
+	 */
+	public boolean isBatching(VertexConsumerProvider provider) {
+		return consumers != null && consumers == provider;
+	}
+
+	public void add(RenderLayer layer, WildfireModelRenderer.ModelBox box, MatrixStack.Entry entry, int light, int overlay, int color) {
+		if(used == pool.size()) {
+			pool.add(new Draw());
+		}
+		Draw draw = pool.get(used++);
+		draw.box = box;
+		draw.pose.set(entry.getPositionMatrix());
+		draw.normal.set(entry.getNormalMatrix());
+		draw.light = light;
+		draw.overlay = overlay;
+		draw.color = color;
+		batches.computeIfAbsent(layer, k -> new ArrayList<>()).add(draw);
+	}
+
+	/**
+	 * Submit everything collected since the last call to {@link #begin}, and stop collecting until it's called again
+	 */
+	public void flush() {
+		VertexConsumerProvider consumers = this.consumers;
+		this.consumers = null;
+		if(consumers != null) {
+			for(var batch : batches.entrySet()) {
+				List<Draw> draws = batch.getValue();
+				if(draws.isEmpty()) continue;
+				VertexConsumer vertexConsumer = consumers.getBuffer(batch.getKey());
+				for(Draw draw : draws) {
+					GenderLayer.renderBox(draw.box, draw.pose, draw.normal, vertexConsumer, draw.light, draw.overlay, draw.color);
+				}
+			}
+		}
+		reset();
+	}
+
+	private void reset() {
+		// drop any layers which weren't drawn to in the last frame, as these are usually per-skin, and would otherwise
+		// stick around indefinitely
+		batches.values().removeIf(List::isEmpty);
+		batches.values().forEach(List::clear);
+		for(int i = 0; i < used; i++) {
+			pool.get(i).box = null;
+		}
+		used = 0;
+	}
+
+	private static final class Draw {
+		private final Matrix4f pose = new Matrix4f();
+		private final Matrix3f normal = new Matrix3f();
+		private WildfireModelRenderer.ModelBox box;
+		private int light, overlay, color;
+	}
+}
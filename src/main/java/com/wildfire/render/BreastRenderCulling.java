@@ -0,0 +1,84 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.render;
+
+import com.wildfire.main.config.GlobalConfig;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * <p>Decides how much detail breasts are rendered with based on their distance from the camera.</p>
+ *
+ * <ul>
+ *     <li>{@link #FULL Nearby} entities are rendered as usual</li>
+ *     <li>{@link #FAR Far away} entities skip physics transforms, the breathing animation and armor trims</li>
+ *     <li>{@link #CULLED Anything further}, or small enough to only cover a pixel or so on screen, isn't rendered
+ *     at all</li>
+ * </ul>
+ *
+ * <p>Entities outside the view frustum are already skipped by the game before any of this is reached.</p>
+ *
+ * @see GlobalConfig#BREAST_RENDER_CULLING
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class BreastRenderCulling {
+
+	public static final int FULL = 0, FAR = 1, CULLED = 2;
+
+	// roughly how tall a breast is in blocks, used to estimate how large one appears on screen
+	private static final double BREAST_HEIGHT = 5 / 16.0;
+
+	private static boolean enabled = false;
+	private static double farDistanceSq, cullDistanceSq;
+
+	private BreastRenderCulling() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Re-read the configured distances, and the screen size used to estimate how large breasts appear on screen;
+	 * this is expected to be called once per frame, before any entity render states are updated.
+	 */
+	public static void refresh(MinecraftClient client) {
+		enabled = GlobalConfig.INSTANCE.get(GlobalConfig.BREAST_RENDER_CULLING);
+		double cull = GlobalConfig.INSTANCE.get(GlobalConfig.BREAST_CULL_DISTANCE);
+		double far = Math.min(cull, GlobalConfig.INSTANCE.get(GlobalConfig.BREAST_FAR_DISTANCE));
+		float minPixels = GlobalConfig.INSTANCE.get(GlobalConfig.BREAST_MIN_SCREEN_PIXELS);
+		if(minPixels > 0) {
+			// the distance past which a breast is projected onto fewer than the configured amount of pixels; this
+			// intentionally ignores any dynamic FOV changes, as it doesn't need to be exact
+			double fov = Math.toRadians(client.options.getFov().getValue());
+			double pixelsPerBlock = client.getWindow().getFramebufferHeight() / (2 * Math.tan(fov / 2));
+			cull = Math.min(cull, BREAST_HEIGHT * pixelsPerBlock / minPixels);
+		}
+		cullDistanceSq = cull * cull;
+		farDistanceSq = far * far;
+	}
+
+	/**
+	 * @return The level of detail breasts should be rendered with at the given squared distance from the camera
+	 */
+	public static int classify(double squaredDistance) {
+		if(!enabled) return FULL;
+		if(squaredDistance > cullDistanceSq) return CULLED;
+		return squaredDistance > farDistanceSq ? FAR : FULL;
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.render;
+
+import com.wildfire.api.IBreastArmorTexture;
+import com.wildfire.api.IGenderArmor;
+import com.wildfire.api.impl.BreastArmorTexture;
+import com.wildfire.api.impl.GenderArmor;
+import com.wildfire.main.WildfireGender;
+import com.wildfire.main.config.GlobalConfig;
+import com.wildfire.main.entitydata.Breasts;
+import com.wildfire.main.entitydata.EntityConfig;
+import com.wildfire.physics.PhysicsSnapshot;
+import com.wildfire.physics.PhysicsWorld;
+import com.wildfire.render.WildfireModelRenderer.BreastModelBox;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.entity.state.LivingEntityRenderState;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.decoration.ArmorStandEntity;
+import net.minecraft.util.math.MathHelper;
+import org.jetbrains.annotations.ApiStatus;
+import org.joml.Quaternionf;
+
+import java.util.Objects;
+
+/**
+ * <p>Everything {@link GenderLayer} and {@link GenderArmorLayer} need to render an entity's breasts, computed once
+ * while the game extracts the entity's {@link LivingEntityRenderState render state}.</p>
+ *
+ * <p>This keeps feature renderers (which are shared between every entity using the same entity renderer) free of any
+ * per-entity state, and allows them to only read from the render state they're given.</p>
+ *
+ * @see RenderStateEntityCapture#getBreastState()
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class BreastRenderState {
+
+	private static final float DEG_TO_RAD = (float) (Math.PI / 180);
+
+	/**
+	 * {@code false} if nothing should be rendered for this entity, in which case every other value is undefined
+	 */
+	public boolean visible;
+	public IGenderArmor genderArmor = GenderArmor.EMPTY;
+	public boolean isChestplateOccupied, bounceEnabled, breathingAnimation, uniboob;
+	/**
+	 * {@code true} if this entity is far enough away to be rendered with {@link BreastRenderCulling#FAR reduced detail}
+	 */
+	public boolean far;
+	/**
+	 * Only used for {@link ArmorStandEntity armor stands}; players instead use their render state's jacket visibility
+	 */
+	public boolean armorStandJacket;
+	public float breastOffsetX, breastOffsetY, breastOffsetZ, lPhysPositionY, lPhysPositionX, rPhysPositionY, rPhysPositionX,
+			lPhysBounceRotation, rPhysBounceRotation, breastSize, zOffset, outwardAngle;
+
+	/**
+	 * The rotations applied to each side by both layers, which are derived entirely from the values above
+	 */
+	public final Quaternionf lBounceRotation = new Quaternionf(), rBounceRotation = new Quaternionf(),
+			lRotation = new Quaternionf(), rRotation = new Quaternionf();
+
+	public BreastModelBox lBreast, rBreast;
+	public BreastModelBox lBoobArmor, rBoobArmor;
+
+	private int breastDepth = 4;
+	private IBreastArmorTexture armorTexture = BreastArmorTexture.DEFAULT;
+
+	public BreastRenderState() {
+		lBreast = BreastModelBox.of(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, breastDepth, 0.0F, false);
+		rBreast = BreastModelBox.of(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, breastDepth, 0.0F, false);
+		lBoobArmor = BreastModelBox.of(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
+		rBoobArmor = BreastModelBox.of(64, 32, 20, 17, 0, 0.0F, 0F, 4, 5, 3, 0.0F, false);
+	}
+
+	/**
+	 * Update this state for the provided entity; called at the end of {@code LivingEntityRenderer#updateRenderState}.
+	 */
+	public void update(LivingEntity entity, LivingEntityRenderState state, float partialTicks) {
+		visible = false;
+		if(!GlobalConfig.RENDER_BREASTS || !EntityConfig.isSupportedEntity(entity)) return;
+
+		int detail = BreastRenderCulling.classify(state.squaredDistanceToCamera);
+		if(detail == BreastRenderCulling.CULLED) return;
+		far = detail == BreastRenderCulling.FAR;
+
+		try {
+			visible = compute(entity, EntityConfig.getEntity(entity), partialTicks);
+			if(visible) {
+				computeRotations(state.age);
+			}
+		} catch(Exception e) {
+			WildfireGender.LOGGER.error("Failed to update breast render state", e);
+		}
+	}
+
+	private boolean compute(LivingEntity entity, EntityConfig entityConfig, float partialTicks) {
+		// note that this can't use the render state's equipped chest stack, as that's only set after this is called
+		//Note: When the stack is empty the helper will fall back to an implementation that returns the proper data
+		genderArmor = entityConfig.getArmorConfig(entity.getEquippedStack(EquipmentSlot.CHEST));
+		isChestplateOccupied = genderArmor.coversBreasts() && !entityConfig.getArmorPhysicsOverride();
+		if(genderArmor.alwaysHidesBreasts() || !entityConfig.showBreastsInArmor() && isChestplateOccupied) {
+			//If the armor always hides breasts or there is armor and the player configured breasts
+			// to be hidden when wearing armor, we can just exit early rather than doing any calculations
+			return false;
+		}
+
+		Breasts breasts = entityConfig.getBreasts();
+		uniboob = breasts.isUniboob();
+		armorStandJacket = entity instanceof ArmorStandEntity && entityConfig.hasJacketLayer();
+		breastOffsetX = Math.round((Math.round(breasts.getXOffset() * 100f) / 100f) * 10) / 10f;
+		breastOffsetY = -Math.round((Math.round(breasts.getYOffset() * 100f) / 100f) * 10) / 10f;
+		breastOffsetZ = -Math.round((Math.round(breasts.getZOffset() * 100f) / 100f) * 10) / 10f;
+
+		PhysicsWorld physics = PhysicsWorld.INSTANCE;
+		// every value is read from the same snapshot, as a new step may otherwise be published partway through
+		PhysicsSnapshot snapshot = physics.getSnapshot();
+		int slot = entityConfig.getPhysicsSlot();
+		if(slot == PhysicsWorld.NO_SLOT) {
+			// this entity hasn't been ticked yet, and as such has no physics state to render
+			return false;
+		}
+		int leftBody = PhysicsWorld.body(slot, PhysicsWorld.LEFT);
+		final float bSize = physics.getBreastSize(snapshot, leftBody, partialTicks);
+		outwardAngle = (Math.round(breasts.getCleavage() * 100f) / 100f) * 100f;
+		outwardAngle = Math.min(outwardAngle, 10);
+
+		resizeBoxes(bSize);
+
+		if(far) {
+			// none of these are used without bouncing, which is always disabled at this distance
+			lPhysPositionY = lPhysPositionX = lPhysBounceRotation = 0;
+			rPhysPositionY = rPhysPositionX = rPhysBounceRotation = 0;
+		} else {
+			lPhysPositionY = physics.getPositionY(snapshot, leftBody, partialTicks);
+			lPhysPositionX = physics.getPositionX(snapshot, leftBody, partialTicks);
+			lPhysBounceRotation = physics.getBounceRotation(snapshot, leftBody, partialTicks);
+			if(uniboob) {
+				rPhysPositionY = lPhysPositionY;
+				rPhysPositionX = lPhysPositionX;
+				rPhysBounceRotation = lPhysBounceRotation;
+			} else {
+				int rightBody = PhysicsWorld.body(slot, PhysicsWorld.RIGHT);
+				rPhysPositionY = physics.getPositionY(snapshot, rightBody, partialTicks);
+				rPhysPositionX = physics.getPositionX(snapshot, rightBody, partialTicks);
+				rPhysBounceRotation = physics.getBounceRotation(snapshot, rightBody, partialTicks);
+			}
+		}
+
+		breastSize = Math.min(bSize * 1.5f, 0.7f); // Limit the max size to 0.7f
+
+		if (bSize > 0.7f) {
+			breastSize = bSize; // If bSize exceeds 0.7f, use bSize
+		}
+
+		if (breastSize < 0.02f) {
+			return false; // Return false if breastSize is too small
+		}
+
+		zOffset = 0.0625f - (bSize * 0.0625f); // Calculate zOffset
+		breastSize += 0.5f * Math.abs(bSize - 0.7f) * 2f; // Adjust breastSize based on bSize
+
+		float resistance = MathHelper.clamp(genderArmor.physicsResistance(), 0, 1);
+		//Note: Whether the entity can currently breathe is only checked once per tick, see EntityConfig#updateCanBreathe
+		breathingAnimation = !far && (entityConfig.getArmorPhysicsOverride() || resistance <= 0.5F) && entityConfig.canBreathe();
+		bounceEnabled = !far && entityConfig.hasBreastPhysics() && (!isChestplateOccupied || resistance < 1); //oh, you found this?
+		return true;
+	}
+
+	private void computeRotations(float age) {
+		float breathing = -MathHelper.cos(age * 0.09F) * 0.45F + 0.45F;
+		computeRotations(lBounceRotation, lRotation, lPhysPositionY, lPhysBounceRotation, outwardAngle, breathing);
+		computeRotations(rBounceRotation, rRotation, rPhysPositionY, rPhysBounceRotation, -outwardAngle, breathing);
+	}
+
+	private void computeRotations(Quaternionf bounceRotation, Quaternionf rotationTransform, float physPositionY,
+	                              float physBounceRotation, float outwardAngle, float breathing) {
+		bounceRotation.rotationXYZ(0, (float)(physBounceRotation * (Math.PI / 180f)), 0);
+
+		float rotation = breastSize;
+		if(bounceEnabled) {
+			rotation -= physPositionY / 12f;
+		}
+
+		rotation = Math.min(rotation, breastSize + 0.2f);
+		rotation = Math.min(rotation, 1); //hard limit for MAX
+
+		rotationTransform.rotationY(outwardAngle * DEG_TO_RAD).rotateX(-35f * rotation * DEG_TO_RAD);
+		if(breathingAnimation) {
+			rotationTransform.rotateX(breathing * DEG_TO_RAD);
+		}
+	}
+
+	private void resizeBoxes(float bSize) {
+		float reducer = -1;
+		if(bSize < 0.84f) reducer++;
+		if(bSize < 0.72f) reducer++;
+
+		// the depth is the only part of the box that can change; boxes for each depth are shared across every entity
+		int depth = (int) (4 - breastOffsetZ - reducer);
+		if(depth != breastDepth) {
+			lBreast = BreastModelBox.of(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, depth, 0.0F, false);
+			rBreast = BreastModelBox.of(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, depth, 0.0F, false);
+			breastDepth = depth;
+		}
+
+		IBreastArmorTexture texture = genderArmor.texture();
+		if(!Objects.equals(armorTexture, texture)) {
+			var texSize = texture.textureSize();
+			var lUV = texture.leftUv();
+			var rUV = texture.rightUv();
+			var dim = texture.dimensions();
+			lBoobArmor = BreastModelBox.of(texSize.x(), texSize.y(), lUV.x(), lUV.y(), -4F, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
+			rBoobArmor = BreastModelBox.of(texSize.x(), texSize.y(), rUV.x(), rUV.y(), 0, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
+			armorTexture = texture;
+		}
+	}
+}
@@ -18,10 +18,7 @@
 
 package com.wildfire.render;
 
-import com.wildfire.api.IBreastArmorTexture;
-import com.wildfire.api.impl.BreastArmorTexture;
 import com.wildfire.main.WildfireGender;
-import com.wildfire.main.entitydata.EntityConfig;
 import com.wildfire.mixins.accessors.EquipmentRendererAccessor;
 import com.wildfire.mixins.accessors.TextureManagerAccessor;
 import com.wildfire.mixins.accessors.TrimSpriteKeyConstructorAccessor;
@@ -44,7 +41,6 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.DyedColorComponent;
 import net.minecraft.entity.EquipmentSlot;
-import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.equipment.EquipmentAsset;
@@ -54,9 +50,7 @@ import net.minecraft.registry.tag.ItemTags;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
 import net.minecraft.util.math.ColorHelper;
-import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
 import java.util.function.Function;
 
 @Environment(EnvType.CLIENT)
@@ -64,10 +58,7 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 
 	private final EquipmentRenderer equipmentRenderer;
 	private final EquipmentModelLoader equipmentModelLoader;
-	protected BreastModelBox lBoobArmor, rBoobArmor;
 	protected static final BreastModelBox lTrim, rTrim;
-	private EntityConfig entityConfig;
-	private @NotNull IBreastArmorTexture textureData = BreastArmorTexture.DEFAULT;
 
 	private static final Function<Identifier, Boolean> TEXTURE_EXISTS = Util.memoize(id -> {
 		var texManager = MinecraftClient.getInstance().getTextureManager();
@@ -77,16 +68,14 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 
 	static {
 		// apply a very slight delta to fix z-fighting with the armor
-		lTrim = new BreastModelBox(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.001F, false);
-		rTrim = new BreastModelBox(64, 32, 20, 17, 0, 0.0F, 0F, 4, 5, 4, 0.001F, false);
+		lTrim = BreastModelBox.of(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.001F, false);
+		rTrim = BreastModelBox.of(64, 32, 20, 17, 0, 0.0F, 0F, 4, 5, 4, 0.001F, false);
 	}
 
 	public GenderArmorLayer(FeatureRendererContext<S, M> render, EquipmentModelLoader equipmentModelLoader, EquipmentRenderer equipmentRenderer) {
 		super(render);
 		this.equipmentRenderer = equipmentRenderer;
 		this.equipmentModelLoader = equipmentModelLoader;
-		lBoobArmor = new BreastModelBox(64, 32, 16, 17, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
-		rBoobArmor = new BreastModelBox(64, 32, 20, 17, 0, 0.0F, 0F, 4, 5, 3, 0.0F, false);
 	}
 
 	@Override
@@ -97,8 +86,9 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 			return;
 		}
 
-		LivingEntity ent = getEntity(state);
-		if(ent == null) return;
+		BreastRenderState breastState = getBreastState(state);
+		if(!breastState.visible || !isLayerVisible(state, breastState)) return;
+		if(getEntity(state) instanceof ArmorStandEntity && !breastState.genderArmor.armorStandsCopySettings()) return;
 
 		final ItemStack chestplate = state.equippedChestStack;
 		// Check if the worn item in the chest slot is actually equippable in the chest slot, and has a model to render
@@ -106,28 +96,25 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 		if(component == null || component.slot() != EquipmentSlot.CHEST || component.assetId().isEmpty()) return;
 
 		try {
-			entityConfig = EntityConfig.getEntity(ent);
-
-			if(!setupRender(state, entityConfig)) return;
-			if(ent instanceof ArmorStandEntity && !genderArmor.armorStandsCopySettings()) return;
-
 			int color = chestplate.isIn(ItemTags.DYEABLE) ? DyedColorComponent.getColor(chestplate, -1) : -1;
 			boolean glint = chestplate.hasGlint();
+			var asset = component.assetId().orElseThrow();
+			// these are the same for both sides, and as such are only resolved once per entity
+			var layers = equipmentModelLoader.get(asset).getLayers(EquipmentModel.LayerType.HUMANOID);
+			var trim = breastState.far ? null : chestplate.get(DataComponentTypes.TRIM);
 
-			renderSides(state, getContextModel(), matrixStack, side -> {
-				var asset = component.assetId().orElseThrow();
+			renderSides(state, breastState, getContextModel(), matrixStack, side -> {
 				// TODO is there still a need to allow for overriding the armor texture identifier?
-				equipmentModelLoader.get(asset).getLayers(EquipmentModel.LayerType.HUMANOID).forEach(layer -> {
+				layers.forEach(layer -> {
 					// mojang what the Optional hell is this
 					int layerColor = layer.dyeable().map(dye -> {
 						int defaultColor = dye.colorWhenUndyed().map(ColorHelper::fullAlpha).orElse(-1);
 						return color != -1 ? color : defaultColor;
 					}).orElse(-1);
 					var texture = layer.getFullTextureId(EquipmentModel.LayerType.HUMANOID);
-					renderBreastArmor(texture, matrixStack, vertexConsumerProvider, light, side, layerColor, glint);
+					renderBreastArmor(breastState, texture, matrixStack, vertexConsumerProvider, light, side, layerColor, glint);
 				});
 
-				var trim = armorStack.get(DataComponentTypes.TRIM);
 				if(trim != null) {
 					renderArmorTrim(asset, matrixStack, vertexConsumerProvider, light, trim, glint, side);
 				}
@@ -138,30 +125,15 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 	}
 
 	@Override
-	protected boolean isLayerVisible(S state) {
-		return genderArmor.coversBreasts();
-	}
-
-	@Override
-	protected void resizeBox(float breastSize) {
-		if(genderArmor == null || Objects.equals(textureData, genderArmor.texture())) {
-			return;
-		}
-
-		textureData = genderArmor.texture();
-		var texSize = textureData.textureSize();
-		var lUV = textureData.leftUv();
-		var dim = textureData.dimensions();
-		lBoobArmor = new BreastModelBox(texSize.x(), texSize.y(), lUV.x(), lUV.y(), -4F, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
-		var rUV = textureData.rightUv();
-		rBoobArmor = new BreastModelBox(texSize.x(), texSize.y(), rUV.x(), rUV.y(), 0, 0.0F, 0F, dim.x(), dim.y(), 3, 0.0F, false);
+	protected boolean isLayerVisible(S state, BreastRenderState breastState) {
+		return breastState.genderArmor.coversBreasts();
 	}
 
 	@Override
-	protected void setupTransformations(S state, M model, MatrixStack matrixStack, BreastSide side) {
-		super.setupTransformations(state, model, matrixStack, side);
+	protected void setupTransformations(S state, BreastRenderState breastState, M model, MatrixStack matrixStack, BreastSide side) {
+		super.setupTransformations(state, breastState, model, matrixStack, side);
 		if((state instanceof PlayerEntityRenderState playerState && playerState.jacketVisible) ||
-				(state instanceof ArmorStandEntityRenderState && entityConfig.hasJacketLayer())) {
+				(state instanceof ArmorStandEntityRenderState && breastState.armorStandJacket)) {
 			matrixStack.translate(0, 0, -0.015f);
 			matrixStack.scale(1.05f, 1.05f, 1.05f);
 		}
@@ -170,13 +142,13 @@ public class GenderArmorLayer<S extends BipedEntityRenderState, M extends BipedE
 	}
 
 	// TODO eventually expose some way for mods to override this, maybe through a default impl in IGenderArmor or similar
-	protected void renderBreastArmor(Identifier texture, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
+	protected void renderBreastArmor(BreastRenderState breastState, Identifier texture, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider,
 	                                 int light, BreastSide side, int color, boolean glint) {
 		if(!TEXTURE_EXISTS.apply(texture)) {
 			return;
 		}
 
-		BreastModelBox armor = side.isLeft ? lBoobArmor : rBoobArmor;
+		BreastModelBox armor = side.isLeft ? breastState.lBoobArmor : breastState.rBoobArmor;
 		RenderLayer armorType = RenderLayer.getArmorCutoutNoCull(texture);
 		VertexConsumer armorVertexConsumer = ItemRenderer.getArmorGlintConsumer(vertexConsumerProvider, armorType, glint);
 		renderBox(armor, matrixStack, armorVertexConsumer, light, OverlayTexture.DEFAULT_UV, ColorHelper.fullAlpha(color));
@@ -18,24 +18,14 @@
 
 package com.wildfire.render;
 
-import com.wildfire.api.IGenderArmor;
-import com.wildfire.main.config.GlobalConfig;
-import com.wildfire.main.entitydata.Breasts;
 import com.wildfire.main.WildfireGender;
-import com.wildfire.main.WildfireHelper;
-import com.wildfire.main.entitydata.EntityConfig;
-import com.wildfire.physics.BreastPhysics;
-import com.wildfire.render.WildfireModelRenderer.BreastModelBox;
 import com.wildfire.render.WildfireModelRenderer.OverlayModelBox;
-import com.wildfire.render.WildfireModelRenderer.PositionTextureVertex;
 
 import java.lang.Math;
-import java.util.Objects;
 import java.util.function.Consumer;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.minecraft.block.Blocks;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.model.*;
 import net.minecraft.client.render.*;
@@ -47,8 +37,6 @@ import net.minecraft.client.render.entity.state.BipedEntityRenderState;
 import net.minecraft.client.render.entity.state.PlayerEntityRenderState;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
-import net.minecraft.entity.effect.StatusEffectUtil;
-import net.minecraft.item.ItemStack;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.*;
 import org.jetbrains.annotations.Nullable;
@@ -57,21 +45,10 @@ import org.joml.*;
 @Environment(EnvType.CLIENT)
 public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntityModel<S>> extends FeatureRenderer<S, M> {
 
-	private static final float DEG_TO_RAD = (float) (Math.PI / 180);
-
-	private BreastModelBox lBreast, rBreast;
 	private static final OverlayModelBox lBreastWear, rBreastWear;
 
 	private final FeatureRendererContext<S, M> context;
 
-	private float preBreastSize, preBreastOffsetZ;
-	private Breasts breasts;
-	protected ItemStack armorStack;
-	protected IGenderArmor genderArmor;
-	protected boolean isChestplateOccupied, bounceEnabled, breathingAnimation;
-	protected float breastOffsetX, breastOffsetY, breastOffsetZ, lPhysPositionY, lPhysPositionX, rPhysPositionY, rPhysPositionX,
-			lPhysBounceRotation, rPhysBounceRotation, breastSize, zOffset, outwardAngle;
-
 	static {
 		lBreastWear = new OverlayModelBox(true, 64, 64, 17, 34, -4F, 0.0F, 0F, 4, 5, 3, 0.0F, false);
 		rBreastWear = new OverlayModelBox(false, 64, 64, 21, 34, 0, 0.0F, 0F, 4, 5, 3, 0.0F, false);
@@ -80,9 +57,6 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 	public GenderLayer(FeatureRendererContext<S, M> render) {
 		super(render);
 		this.context = render;
-		// this can't be static or final as we need the ability to resize this during render time
-		lBreast = new BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, 4, 0.0F, false);
-		rBreast = new BreastModelBox(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, 4, 0.0F, false);
 	}
 
 	/**
@@ -92,6 +66,13 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 		return ((RenderStateEntityCapture)state).getEntity();
 	}
 
+	/**
+	 * Convenience method for getting the breast state computed for the entity a render state was last updated for
+	 */
+	protected BreastRenderState getBreastState(S state) {
+		return ((RenderStateEntityCapture)state).getBreastState();
+	}
+
 	/**
 	 * Copy of {@code LivingEntityRenderer#getRenderLayer}
 	 */
@@ -124,117 +105,26 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 			return;
 		}
 
-		LivingEntity ent = getEntity(state);
-		if(ent == null) return;
-
-		EntityConfig entityConfig = EntityConfig.getEntity(ent);
+		BreastRenderState breastState = getBreastState(state);
+		if(!breastState.visible || !isLayerVisible(state, breastState)) return;
 
 		try {
-			if(!setupRender(state, entityConfig)) return;
 			int overlay = LivingEntityRenderer.getOverlay(state, 0);
 
 			//noinspection CodeBlock2Expr
-			renderSides(state, getContextModel(), matrixStack, side -> {
-				renderBreast(state, matrixStack, vertexConsumerProvider, light, overlay, side);
+			renderSides(state, breastState, getContextModel(), matrixStack, side -> {
+				renderBreast(state, breastState, matrixStack, vertexConsumerProvider, light, overlay, side);
 			});
 		} catch(Exception e) {
 			WildfireGender.LOGGER.error("Failed to render breast layer", e);
 		}
 	}
 
-	/**
-	 * Common logic for setting up breast rendering
-	 *
-	 * @return {@code true} if rendering should continue
-	 */
-	@SuppressWarnings("BooleanMethodIsAlwaysInverted")
-	protected boolean setupRender(S state, EntityConfig entityConfig) {
-		if(!GlobalConfig.RENDER_BREASTS) return false;
-
-		float partialTicks = MinecraftClient.getInstance().getRenderTickCounter().getTickDelta(true);
-		LivingEntity entity = Objects.requireNonNull(getEntity(state), "getEntity()");
-
-		armorStack = state.equippedChestStack;
-		//Note: When the stack is empty the helper will fall back to an implementation that returns the proper data
-		genderArmor = WildfireHelper.getArmorConfig(armorStack);
-		isChestplateOccupied = genderArmor.coversBreasts() && !entityConfig.getArmorPhysicsOverride();
-		if(genderArmor.alwaysHidesBreasts() || !entityConfig.showBreastsInArmor() && isChestplateOccupied) {
-			//If the armor always hides breasts or there is armor and the player configured breasts
-			// to be hidden when wearing armor, we can just exit early rather than doing any calculations
-			return false;
-		}
-
-		if(!isLayerVisible(state)) {
-			return false;
-		}
-
-		breasts = entityConfig.getBreasts();
-		breastOffsetX = Math.round((Math.round(breasts.getXOffset() * 100f) / 100f) * 10) / 10f;
-		breastOffsetY = -Math.round((Math.round(breasts.getYOffset() * 100f) / 100f) * 10) / 10f;
-		breastOffsetZ = -Math.round((Math.round(breasts.getZOffset() * 100f) / 100f) * 10) / 10f;
-
-		BreastPhysics leftBreastPhysics = entityConfig.getLeftBreastPhysics();
-		final float bSize = leftBreastPhysics.getBreastSize(partialTicks);
-		outwardAngle = (Math.round(breasts.getCleavage() * 100f) / 100f) * 100f;
-		outwardAngle = Math.min(outwardAngle, 10);
-
-		resizeBox(bSize);
-
-		lPhysPositionY = MathHelper.lerp(partialTicks, leftBreastPhysics.getPrePositionY(), leftBreastPhysics.getPositionY());
-		lPhysPositionX = MathHelper.lerp(partialTicks, leftBreastPhysics.getPrePositionX(), leftBreastPhysics.getPositionX());
-		lPhysBounceRotation = MathHelper.lerp(partialTicks, leftBreastPhysics.getPreBounceRotation(), leftBreastPhysics.getBounceRotation());
-		if(breasts.isUniboob()) {
-			rPhysPositionY = lPhysPositionY;
-			rPhysPositionX = lPhysPositionX;
-			rPhysBounceRotation = lPhysBounceRotation;
-		} else {
-			BreastPhysics rightBreastPhysics = entityConfig.getRightBreastPhysics();
-			rPhysPositionY = MathHelper.lerp(partialTicks, rightBreastPhysics.getPrePositionY(), rightBreastPhysics.getPositionY());
-			rPhysPositionX = MathHelper.lerp(partialTicks, rightBreastPhysics.getPrePositionX(), rightBreastPhysics.getPositionX());
-			rPhysBounceRotation = MathHelper.lerp(partialTicks, rightBreastPhysics.getPreBounceRotation(), rightBreastPhysics.getBounceRotation());
-		}
-
-		breastSize = Math.min(bSize * 1.5f, 0.7f); // Limit the max size to 0.7f
-
-		if (bSize > 0.7f) {
-			breastSize = bSize; // If bSize exceeds 0.7f, use bSize
-		}
-
-		if (breastSize < 0.02f) {
-			return false; // Return false if breastSize is too small
-		}
-
-		zOffset = 0.0625f - (bSize * 0.0625f); // Calculate zOffset
-		breastSize += 0.5f * Math.abs(bSize - 0.7f) * 2f; // Adjust breastSize based on bSize
-
-		float resistance = MathHelper.clamp(genderArmor.physicsResistance(), 0, 1);
-		//Note: We only check if the breathing animation should be enabled if the chestplate's physics resistance
-		// is less than or equal to 0.5 so that if we won't be rendering it we can avoid doing extra calculations
-		breathingAnimation = ((entityConfig.getArmorPhysicsOverride() || resistance <= 0.5F) &&
-				(!entity.isSubmergedInWater() || StatusEffectUtil.hasWaterBreathing(entity) ||
-						entity.getWorld().getBlockState(new BlockPos(entity.getBlockX(), entity.getBlockY(), entity.getBlockZ())).isOf(Blocks.BUBBLE_COLUMN)));
-		bounceEnabled = entityConfig.hasBreastPhysics() && (!isChestplateOccupied || resistance < 1); //oh, you found this?
-		return true;
-	}
-
-	protected boolean isLayerVisible(S state) {
+	protected boolean isLayerVisible(S state, BreastRenderState breastState) {
 		return !state.invisibleToPlayer || state.hasOutline;
 	}
 
-	protected void resizeBox(float breastSize) {
-		float reducer = -1;
-		if(breastSize < 0.84f) reducer++;
-		if(breastSize < 0.72f) reducer++;
-
-		if(preBreastSize != breastSize || preBreastOffsetZ != breastOffsetZ) {
-			lBreast = new BreastModelBox(64, 64, 16, 17, -4F, 0.0F, 0F, 4, 5, (int) (4 - breastOffsetZ - reducer), 0.0F, false);
-			rBreast = new BreastModelBox(64, 64, 20, 17, 0, 0.0F, 0F, 4, 5, (int) (4 - breastOffsetZ - reducer), 0.0F, false);
-			preBreastSize = breastSize;
-			preBreastOffsetZ = breastOffsetZ;
-		}
-	}
-
-	protected void setupTransformations(S state, M model, MatrixStack matrixStack, BreastSide side) {
+	protected void setupTransformations(S state, BreastRenderState breastState, M model, MatrixStack matrixStack, BreastSide side) {
 		if(state.baby) {
 			matrixStack.scale(state.ageScale, state.ageScale, state.ageScale);
 			matrixStack.translate(0f, 0.75f, 0f);
@@ -246,68 +136,68 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 			matrixStack.multiply(new Quaternionf().rotationZYX(body.roll, body.yaw, body.pitch));
 		}
 
-		if(bounceEnabled) {
-			matrixStack.translate((side.isLeft ? lPhysPositionX : rPhysPositionX) / 32f, 0, 0);
-			matrixStack.translate(0, (side.isLeft ? lPhysPositionY : rPhysPositionY) / 32f, 0);
+		if(breastState.bounceEnabled) {
+			matrixStack.translate((side.isLeft ? breastState.lPhysPositionX : breastState.rPhysPositionX) / 32f, 0, 0);
+			matrixStack.translate(0, (side.isLeft ? breastState.lPhysPositionY : breastState.rPhysPositionY) / 32f, 0);
 		}
 
-		matrixStack.translate((side.isLeft ? breastOffsetX : -breastOffsetX) * 0.0625f, 0.05625f + (breastOffsetY * 0.0625f), zOffset - 0.0625f * 2f + (breastOffsetZ * 0.0625f)); //shift down to correct position
+		matrixStack.translate((side.isLeft ? breastState.breastOffsetX : -breastState.breastOffsetX) * 0.0625f, 0.05625f + (breastState.breastOffsetY * 0.0625f), breastState.zOffset - 0.0625f * 2f + (breastState.breastOffsetZ * 0.0625f)); //shift down to correct position
 
-		if(!breasts.isUniboob()) {
+		if(!breastState.uniboob) {
 			matrixStack.translate(-0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
 		}
-		if(bounceEnabled) {
-			matrixStack.multiply(new Quaternionf().rotationXYZ(0, (float)((side.isLeft ? lPhysBounceRotation : rPhysBounceRotation) * (Math.PI / 180f)), 0));
+		if(breastState.bounceEnabled) {
+			matrixStack.multiply(side.isLeft ? breastState.lBounceRotation : breastState.rBounceRotation);
 		}
-		if(!breasts.isUniboob()) {
+		if(!breastState.uniboob) {
 			matrixStack.translate(0.0625f * 2 * (side.isLeft ? 1 : -1), 0, 0);
 		}
 
-		float rotation = breastSize;
-		if(bounceEnabled) {
-			matrixStack.translate(0, -0.035f * breastSize, 0); //shift down to correct position
-			rotation -= (side.isLeft ? lPhysPositionY : rPhysPositionY) / 12f;
+		if(breastState.bounceEnabled) {
+			matrixStack.translate(0, -0.035f * breastState.breastSize, 0); //shift down to correct position
 		}
 
-		rotation = Math.min(rotation, breastSize + 0.2f);
-		rotation = Math.min(rotation, 1); //hard limit for MAX
-
-		if(isChestplateOccupied) {
+		if(breastState.isChestplateOccupied) {
 			matrixStack.translate(0, 0, 0.01f);
 		}
 
-		Quaternionf rotationTransform = new Quaternionf()
-				.rotationY((side.isLeft ? outwardAngle : -outwardAngle) * DEG_TO_RAD)
-				.rotateX(-35f * rotation * DEG_TO_RAD);
-
-		if(breathingAnimation) {
-			float f5 = -MathHelper.cos(state.age * 0.09F) * 0.45F + 0.45F;
-			rotationTransform.rotateX(f5 * DEG_TO_RAD);
-		}
-
-		matrixStack.multiply(rotationTransform);
+		matrixStack.multiply(side.isLeft ? breastState.lRotation : breastState.rRotation);
 		matrixStack.scale(0.9995f, 1f, 1f); //z-fighting FIXXX
 	}
 
-	private void renderBreast(S state, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light,
+	private void renderBreast(S state, BreastRenderState breastState, MatrixStack matrixStack, VertexConsumerProvider vertexConsumerProvider, int light,
 	                          int overlay, BreastSide side) {
 		RenderLayer breastRenderType = getRenderLayer(state);
 		if(breastRenderType == null) return; // only render if the player is visible in some capacity
 		int alpha = state.invisible ? ColorHelper.channelFromFloat(0.15f) : 255;
 		int color = ColorHelper.getArgb(alpha, 255, 255, 255);
+		boolean jacket = state instanceof PlayerEntityRenderState playerState && playerState.jacketVisible;
+
+		// translucent geometry is left out of batches, as it relies on being drawn in order with the rest of the entity
+		BreastBatchRenderer batch = BreastBatchRenderer.INSTANCE;
+		if(!state.invisible && batch.isBatching(vertexConsumerProvider)) {
+			batch.add(breastRenderType, side.isLeft ? breastState.lBreast : breastState.rBreast, matrixStack.peek(), light, overlay, color);
+			if(jacket) {
+				matrixStack.translate(0, 0, -0.015f);
+				matrixStack.scale(1.05f, 1.05f, 1.05f);
+				batch.add(breastRenderType, side.isLeft ? lBreastWear : rBreastWear, matrixStack.peek(), light, overlay, color);
+			}
+			return;
+		}
+
 		VertexConsumer vertexConsumer = vertexConsumerProvider.getBuffer(breastRenderType);
-		renderBox(side.isLeft ? lBreast : rBreast, matrixStack, vertexConsumer, light, overlay, color);
-		if(state instanceof PlayerEntityRenderState playerState && playerState.jacketVisible) {
+		renderBox(side.isLeft ? breastState.lBreast : breastState.rBreast, matrixStack, vertexConsumer, light, overlay, color);
+		if(jacket) {
 			matrixStack.translate(0, 0, -0.015f);
 			matrixStack.scale(1.05f, 1.05f, 1.05f);
 			renderBox(side.isLeft ? lBreastWear : rBreastWear, matrixStack, vertexConsumer, light, overlay, color);
 		}
 	}
 
-	protected void renderSides(S state, M model, MatrixStack matrixStack, Consumer<BreastSide> renderer) {
+	protected void renderSides(S state, BreastRenderState breastState, M model, MatrixStack matrixStack, Consumer<BreastSide> renderer) {
 		matrixStack.push();
 		try {
-			setupTransformations(state, model, matrixStack, BreastSide.LEFT);
+			setupTransformations(state, breastState, model, matrixStack, BreastSide.LEFT);
 			renderer.accept(BreastSide.LEFT);
 		} finally {
 			matrixStack.pop();
@@ -315,7 +205,7 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 
 		matrixStack.push();
 		try {
-			setupTransformations(state, model, matrixStack, BreastSide.RIGHT);
+			setupTransformations(state, breastState, model, matrixStack, BreastSide.RIGHT);
 			renderer.accept(BreastSide.RIGHT);
 		} finally {
 			matrixStack.pop();
@@ -324,20 +214,29 @@ public class GenderLayer<S extends BipedEntityRenderState, M extends BipedEntity
 
 	protected static void renderBox(WildfireModelRenderer.ModelBox model, MatrixStack matrixStack, VertexConsumer vertexConsumer,
 									int light, int overlay, int color) {
-		Matrix4f matrix4f = matrixStack.peek().getPositionMatrix();
-		Matrix3f matrix3f = matrixStack.peek().getNormalMatrix();
-		for(WildfireModelRenderer.TexturedQuad quad : model.quads) {
-			Vector3f vector3f = new Vector3f(quad.normal.x, quad.normal.y, quad.normal.z).mul(matrix3f);
-			float normalX = vector3f.x;
-			float normalY = vector3f.y;
-			float normalZ = vector3f.z;
-			for(PositionTextureVertex vertex : quad.vertexPositions) {
-				float j = vertex.x() / 16.0F;
-				float k = vertex.y() / 16.0F;
-				float l = vertex.z() / 16.0F;
-				Vector4f vector4f = new Vector4f(j, k, l, 1.0F).mul(matrix4f);
-				vertexConsumer.vertex(vector4f.x(), vector4f.y(), vector4f.z(), color, vertex.u(), vertex.v(),
-						overlay, light, normalX, normalY, normalZ);
+		MatrixStack.Entry entry = matrixStack.peek();
+		renderBox(model, entry.getPositionMatrix(), entry.getNormalMatrix(), vertexConsumer, light, overlay, color);
+	}
+
+	static void renderBox(WildfireModelRenderer.ModelBox model, Matrix4f pose, Matrix3f normal, VertexConsumer vertexConsumer,
+	                      int light, int overlay, int color) {
+		// this is written out by hand (rather than using JOML's vectors) to avoid allocating anything per vertex
+		float p00 = pose.m00(), p01 = pose.m01(), p02 = pose.m02();
+		float p10 = pose.m10(), p11 = pose.m11(), p12 = pose.m12();
+		float p20 = pose.m20(), p21 = pose.m21(), p22 = pose.m22();
+		float p30 = pose.m30(), p31 = pose.m31(), p32 = pose.m32();
+
+		float[] vertices = model.vertices;
+		for(int quad = 0; quad < vertices.length; quad += WildfireModelRenderer.ModelBox.QUAD_STRIDE) {
+			float nx = vertices[quad], ny = vertices[quad + 1], nz = vertices[quad + 2];
+			float normalX = normal.m00() * nx + normal.m10() * ny + normal.m20() * nz;
+			float normalY = normal.m01() * nx + normal.m11() * ny + normal.m21() * nz;
+			float normalZ = normal.m02() * nx + normal.m12() * ny + normal.m22() * nz;
+			int end = quad + WildfireModelRenderer.ModelBox.QUAD_STRIDE;
+			for(int i = quad + 3; i < end; i += WildfireModelRenderer.ModelBox.VERTEX_STRIDE) {
+				float x = vertices[i], y = vertices[i + 1], z = vertices[i + 2];
+				vertexConsumer.vertex(p00 * x + p10 * y + p20 * z + p30, p01 * x + p11 * y + p21 * z + p31, p02 * x + p12 * y + p22 * z + p32,
+						color, vertices[i + 3], vertices[i + 4], overlay, light, normalX, normalY, normalZ);
 			}
 		}
 	}
@@ -23,6 +23,9 @@ import net.fabricmc.api.Environment;
 import net.minecraft.util.math.Direction;
 import org.joml.Vector3f;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Environment(EnvType.CLIENT)
 public final class WildfireModelRenderer {
 	private WildfireModelRenderer() {
@@ -30,7 +33,22 @@ public final class WildfireModelRenderer {
 	}
 
 	public static class ModelBox {
+		/**
+		 * The number of floats each vertex takes up in {@link #vertices}; this is the vertex's position (pre-divided
+		 * by 16), followed by its texture coordinates
+		 */
+		public static final int VERTEX_STRIDE = 5;
+		/**
+		 * The number of floats each quad takes up in {@link #vertices}; this is the quad's normal, followed by each of
+		 * its four vertices
+		 */
+		public static final int QUAD_STRIDE = 3 + 4 * VERTEX_STRIDE;
+
 		public final WildfireModelRenderer.TexturedQuad[] quads;
+		/**
+		 * Every quad in this box packed into a single array, as laid out by {@link #QUAD_STRIDE}
+		 */
+		public final float[] vertices;
 		public final float posX1;
 		public final float posY1;
 		public final float posZ1;
@@ -78,6 +96,25 @@ public final class WildfireModelRenderer {
 				new PositionTextureVertex(x, f1, f2, 8.0F, 0.0F),
 				new PositionTextureVertex(x, y, z, 0.0F, 0.0F)
 			);
+			this.vertices = bake(this.quads);
+		}
+
+		private static float[] bake(TexturedQuad[] quads) {
+			float[] vertices = new float[quads.length * QUAD_STRIDE];
+			int i = 0;
+			for(TexturedQuad quad : quads) {
+				vertices[i++] = quad.normal.x;
+				vertices[i++] = quad.normal.y;
+				vertices[i++] = quad.normal.z;
+				for(PositionTextureVertex vertex : quad.vertexPositions) {
+					vertices[i++] = vertex.x() / 16.0F;
+					vertices[i++] = vertex.y() / 16.0F;
+					vertices[i++] = vertex.z() / 16.0F;
+					vertices[i++] = vertex.u();
+					vertices[i++] = vertex.v();
+				}
+			}
+			return vertices;
 		}
 
 		protected void initQuads(int tW, int tH, int texU, int texV, int dx, int dy, int dz, boolean mirror, boolean extra, PositionTextureVertex vertex,
@@ -124,6 +161,21 @@ public final class WildfireModelRenderer {
 
 	public static class BreastModelBox extends ModelBox {
 
+		private static final Map<Layout, BreastModelBox> CACHE = new ConcurrentHashMap<>();
+
+		/**
+		 * Get a box with the given layout, only building it if an identical box hasn't already been requested.
+		 *
+		 * @apiNote Boxes returned from this are shared, and as such must never be modified.
+		 */
+		public static BreastModelBox of(int tW, int tH, int texU, int texV, float x, float y, float z, int dx, int dy, int dz, float delta, boolean mirror) {
+			return CACHE.computeIfAbsent(new Layout(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta, mirror),
+				layout -> new BreastModelBox(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta, mirror));
+		}
+
+		private record Layout(int tW, int tH, int texU, int texV, float x, float y, float z, int dx, int dy, int dz, float delta, boolean mirror) {
+		}
+
 		public BreastModelBox(int tW, int tH, int texU, int texV, float x, float y, float z, int dx, int dy, int dz, float delta, boolean mirror) {
 			super(tW, tH, texU, texV, x, y, z, dx, dy, dz, delta, mirror);
 		}
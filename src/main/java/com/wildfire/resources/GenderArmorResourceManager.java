@@ -20,6 +20,7 @@ package com.wildfire.resources;
 
 import com.wildfire.api.IGenderArmor;
 import com.wildfire.main.WildfireGender;
+import com.wildfire.main.WildfireHelper;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
@@ -67,5 +68,6 @@ public final class GenderArmorResourceManager extends JsonDataLoader<IGenderArmo
 	@Override
 	protected void apply(Map<Identifier, IGenderArmor> prepared, ResourceManager manager, Profiler profiler) {
 		this.configs = Collections.unmodifiableMap(prepared);
+		WildfireHelper.invalidateArmorConfigs();
 	}
 }
@@ -0,0 +1,136 @@
+/*
+ * Wildfire's Female Gender Mod is a female gender mod created for Minecraft.
+ * Copyright (C) 2023-present WildfireRomeo
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.wildfire.physics;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * <p>A {@link SpringKernel} built on the incubating Vector API, which runs the springs of as many bodies at once as
+ * the current CPU supports (typically 8 with AVX2, or 16 with AVX-512).</p>
+ *
+ * <p>This performs exactly the same operations in exactly the same order as {@link PhysicsWorld#spring(int)}, and as
+ * such produces bit-identical output; any bodies left over once the batch no longer fills a full vector are handed to
+ * the scalar implementation.</p>
+ *
+ * @implNote This class must only ever be loaded through {@link SpringKernel#select()}, as the
+ *           {@code jdk.incubator.vector} module isn't available by default; it's compiled separately from the main
+ *           source set, and looked up reflectively from there.
+ */
+final class VectorSpringKernel implements SpringKernel {
+	private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+	// floats and ints are the same width, so this always has the same number of lanes as FLOATS
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+	static boolean isSupported() {
+		return FLOATS.length() >= 4 && FLOATS.length() == INTS.length();
+	}
+
+	@Override
+	public void solve(PhysicsWorld world, int[] bodies, int from, int to) {
+		int lanes = FLOATS.length();
+		int i = from;
+		for(int bound = from + FLOATS.loopBound(to - from); i < bound; i += lanes) {
+			run(world, bodies, i);
+		}
+		for(; i < to; i++) {
+			world.spring(bodies[i]);
+		}
+	}
+
+	private void run(PhysicsWorld world, int[] bodies, int offset) {
+		final FloatVector targetBounceX = gather(world.springTargetX, bodies, offset);
+		final FloatVector targetBounceY = gather(world.springTargetY, bodies, offset);
+		final FloatVector targetRotVel = gather(world.springTargetRot, bodies, offset);
+		final FloatVector bounceAmount = gather(world.springAmount, bodies, offset);
+		final FloatVector percent = gather(world.springPercent, bodies, offset);
+		final FloatVector delta = FloatVector.broadcast(FLOATS, 2.25f).sub(bounceAmount);
+		final IntVector steps = IntVector.fromArray(INTS, world.springSteps, 0, bodies, offset);
+		final int maxSteps = steps.reduceLanes(VectorOperators.MAX);
+
+		FloatVector bounceVel = gather(world.bounceVel, bodies, offset);
+		FloatVector velocity = gather(world.velocity, bodies, offset);
+		FloatVector bounceVelX = gather(world.bounceVelX, bodies, offset);
+		FloatVector velocityX = gather(world.velocityX, bodies, offset);
+		FloatVector bounceRotVel = gather(world.bounceRotVel, bodies, offset);
+		FloatVector rotVelocity = gather(world.rotVelocity, bodies, offset);
+
+		for(int i = 0; i < maxSteps; i++) {
+			FloatVector distanceFromMin = bounceVel.add(1.5f).abs().mul(0.5f);
+			FloatVector distanceFromMax = bounceVel.sub(2.65f).abs().mul(0.5f);
+
+			FloatVector springTargetY = targetBounceY
+					.add(distanceFromMin, bounceVel.compare(VectorOperators.LT, -0.5f))
+					.sub(distanceFromMax, bounceVel.compare(VectorOperators.GT, 2.5f))
+					.max(-1.5f).min(2.5f);
+
+			FloatVector nextVelocity = lerp(bounceAmount, velocity, springTargetY.sub(bounceVel).mul(delta));
+			FloatVector nextBounceVel = bounceVel.add(nextVelocity.mul(percent).mul(1.1625f));
+
+			FloatVector nextVelocityX = lerp(bounceAmount, velocityX, targetBounceX.sub(bounceVelX).mul(delta));
+			FloatVector nextBounceVelX = bounceVelX.add(nextVelocityX.mul(percent));
+
+			FloatVector nextRotVelocity = lerp(bounceAmount, rotVelocity, targetRotVel.sub(bounceRotVel).mul(delta));
+			FloatVector nextBounceRotVel = bounceRotVel.add(nextRotVelocity.mul(percent));
+
+			nextVelocity = nextVelocity.blend(0f, nextBounceVel.compare(VectorOperators.GT, 1.5f));
+
+			if(i == 0) {
+				// every body runs its springs at least once
+				bounceVel = nextBounceVel;
+				velocity = nextVelocity;
+				bounceVelX = nextBounceVelX;
+				velocityX = nextVelocityX;
+				bounceRotVel = nextBounceRotVel;
+				rotVelocity = nextRotVelocity;
+			} else {
+				// only advance the bodies that are still catching up on missed ticks
+				VectorMask<Float> active = steps.compare(VectorOperators.GT, i).cast(FLOATS);
+				bounceVel = bounceVel.blend(nextBounceVel, active);
+				velocity = velocity.blend(nextVelocity, active);
+				bounceVelX = bounceVelX.blend(nextBounceVelX, active);
+				velocityX = velocityX.blend(nextVelocityX, active);
+				bounceRotVel = bounceRotVel.blend(nextBounceRotVel, active);
+				rotVelocity = rotVelocity.blend(nextRotVelocity, active);
+			}
+		}
+
+		bounceVel.intoArray(world.bounceVel, 0, bodies, offset);
+		velocity.intoArray(world.velocity, 0, bodies, offset);
+		bounceVelX.intoArray(world.bounceVelX, 0, bodies, offset);
+		velocityX.intoArray(world.velocityX, 0, bodies, offset);
+		bounceRotVel.intoArray(world.bounceRotVel, 0, bodies, offset);
+		rotVelocity.intoArray(world.rotVelocity, 0, bodies, offset);
+
+		bounceRotVel.intoArray(world.bounceRotation, 0, bodies, offset);
+		bounceVelX.intoArray(world.positionX, 0, bodies, offset);
+		bounceVel.max(-0.5f).min(1.5f).intoArray(world.positionY, 0, bodies, offset);
+	}
+
+	private static FloatVector gather(float[] array, int[] bodies, int offset) {
+		return FloatVector.fromArray(FLOATS, array, 0, bodies, offset);
+	}
+
+	// matches MathHelper#lerp
+	private static FloatVector lerp(FloatVector delta, FloatVector start, FloatVector end) {
+		return start.add(delta.mul(end.sub(start)));
+	}
+}